@@ -3,49 +3,150 @@ package com.brighthorizon.test.automation.framework.config;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.Properties;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class ConfigReader {
 
-
-    private static final Properties globalProperties = new Properties();
-    private static final Properties environmentProperties = new Properties();
-    private static final Properties browserStackProperties = new Properties();
-    private static String environment;
     private static final Logger logger = LogManager.getLogger(ConfigReader.class);
+    // Editors save in several writes; changes within this window are reloaded once
+    private static final long RELOAD_SETTLE_MILLIS = 300;
+    private static final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+    // Replaced as a whole, never modified, so a lookup costs one volatile read
+    private static volatile ConfigSnapshot snapshot = ConfigSnapshot.load().validate();
+    private static volatile Thread watcher;
+
+    /**
+     * Reacts to a reloaded configuration. Called on the watcher thread after the new snapshot is in place.
+     */
+    @FunctionalInterface
+    public interface ChangeListener {
+        void onChange(ConfigSnapshot previous, ConfigSnapshot current, Set<String> changedKeys);
+    }
 
     static {
+        if (snapshot.getBoolean("config-hot-reload", false)) {
+            startWatching();
+        }
+    }
+
+    /**
+     * Gets the current configuration snapshot with its typed accessors. Keep the returned snapshot for a
+     * series of related lookups so they all see the same configuration.
+     *
+     * @return the current snapshot
+     */
+    public static ConfigSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Registers a listener for configuration reloads.
+     *
+     * @param listener called with the previous and the new snapshot and the keys that changed
+     */
+    public static void addChangeListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Reads the configuration files again and swaps in the new snapshot if it is valid. Running scenarios are not
+     * paused: lookups already in progress finish on the old snapshot, later ones see the new one.
+     *
+     * @return true when a changed, valid configuration was applied
+     */
+    public static synchronized boolean reload() {
+        ConfigSnapshot previous = snapshot;
+        ConfigSnapshot current;
         try {
-            // Load global configuration
-            FileInputStream globalConfig = new FileInputStream("src/main/resources/config/config.properties");
-            globalProperties.load(globalConfig);
-            logger.info("Loaded global configuration from config.properties.");
-
-            // Determine the environment (default to 'qa')
-            environment = ConfigReader.getGlobal("env").toLowerCase();
-
-            // Load environment-specific configuration
-            FileInputStream envConfig = new FileInputStream("src/main/resources/config/" + environment + ".properties");
-            environmentProperties.load(envConfig);
-            logger.info("Loaded {} environment configuration.", environment);
-
-            // Load BrowserStack-specific configuration (if present)
-            if(ConfigReader.getGlobal("execution-platform").equalsIgnoreCase("cloud") && ConfigReader.getGlobal("cloud-provider").equalsIgnoreCase("browserstack"))
-            {
-                FileInputStream bsConfig = new FileInputStream("src/main/resources/config/config-browserstack.properties");
-                browserStackProperties.load(bsConfig);
-                logger.info("Loaded BrowserStack-specific configuration from config-browserstack.properties.");
+            current = ConfigSnapshot.load().validate();
+        } catch (RuntimeException e) {
+            logger.error("Configuration change rejected, keeping the current configuration: {}", e.getMessage());
+            return false;
+        }
+        Set<String> changedKeys = current.changedKeys(previous);
+        if (changedKeys.isEmpty()) {
+            return false;
+        }
+        snapshot = current;
+        logger.info("Configuration reloaded from {}. Changed: {}", current.getSource(), changedKeys);
+        for (ChangeListener listener : listeners) {
+            try {
+                listener.onChange(previous, current, changedKeys);
+            } catch (RuntimeException e) {
+                logger.error("Configuration change listener failed: {}", e.getMessage(), e);
             }
+        }
+        return true;
+    }
 
+    /**
+     * Watches the configuration folder and reloads when a properties file in it changes. Does nothing when the
+     * files are inside a jar. Started automatically with config-hot-reload=true.
+     */
+    public static synchronized void startWatching() {
+        Path directory = snapshot.getDirectory();
+        if (watcher != null || directory == null) {
+            return;
+        }
+        WatchService watchService;
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+        } catch (IOException e) {
+            logger.warn("Cannot watch configuration folder {}: {}", directory, e.getMessage());
+            return;
+        }
+        watcher = new Thread(() -> watch(watchService), "config-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        logger.info("Watching {} for configuration changes.", directory);
+    }
 
+    private static void watch(WatchService watchService) {
+        try (watchService) {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean propertiesChanged = containsPropertiesFile(key);
+                key.reset();
+                if (!propertiesChanged) {
+                    continue;
+                }
+                // Let the save finish and swallow its remaining events before reading the files
+                Thread.sleep(RELOAD_SETTLE_MILLIS);
+                WatchKey pending;
+                while ((pending = watchService.poll()) != null) {
+                    pending.pollEvents();
+                    pending.reset();
+                }
+                reload();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
         } catch (IOException e) {
-            logger.error("Failed to load configuration files.", e);
-            throw new RuntimeException("Failed to load configuration files.", e);
+            logger.warn("Configuration watcher stopped: {}", e.getMessage());
         }
     }
 
+    private static boolean containsPropertiesFile(WatchKey key) {
+        boolean found = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.context() instanceof Path && event.context().toString().endsWith(".properties")) {
+                found = true;
+            }
+        }
+        return found;
+    }
+
     /**
      * Retrieves a property value, checking environment-specific properties first, then global properties.
      *
@@ -53,11 +154,7 @@ public class ConfigReader {
      * @return the property value or null if not found
      */
     public static String get(String key) {
-        String value = environmentProperties.getProperty(key);
-        if (value == null) {
-            value = globalProperties.getProperty(key);
-        }
-        return value;
+        return snapshot.get(key);
     }
 
     /**
@@ -67,7 +164,7 @@ public class ConfigReader {
      * @return the property value or null if not found
      */
     public static String getGlobal(String key) {
-        return globalProperties.getProperty(key);
+        return snapshot.getGlobal(key);
     }
 
     /**
@@ -77,7 +174,7 @@ public class ConfigReader {
      * @return the property value or null if not found
      */
     public static String getEnvironmentSpecific(String key) {
-        return environmentProperties.getProperty(key);
+        return snapshot.getEnvironmentSpecific(key);
     }
 
     /**
@@ -87,7 +184,7 @@ public class ConfigReader {
      * @return the property value or null if not found
      */
     public static String getBrowserStack(String key) {
-        return browserStackProperties.getProperty(key);
+        return snapshot.getBrowserStack(key);
     }
 
     /**
@@ -96,7 +193,7 @@ public class ConfigReader {
      * @return the environment name
      */
     public static String getEnvironment() {
-        return environment;
+        return snapshot.getEnvironment();
     }
 
     /**
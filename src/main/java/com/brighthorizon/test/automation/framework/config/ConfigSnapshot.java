@@ -0,0 +1,427 @@
+package com.brighthorizon.test.automation.framework.config;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.PageLoadStrategy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * One immutable view of the global, environment and BrowserStack configuration. Values are merged with overrides
+ * and their numbers and booleans parsed once when the snapshot is built, so lookups do no parsing.
+ * <p>
+ * Files come from the config directory given by the config.dir system property or the BH_CONFIG_DIR environment
+ * variable, otherwise from /config on the classpath. A system property named like a key, or an environment
+ * variable BH_ + the key in upper case with other characters as '_' (e.g. BH_EXECUTION_PLATFORM), overrides the
+ * file value, in that order. Overrides of keys no file defines are added to the global values: system properties
+ * under their own name (JVM properties such as java.* and user.* excepted), environment variables under the
+ * lower-case, hyphenated key (BH_SHARD_COUNT is shard-count).
+ */
+public final class ConfigSnapshot {
+
+    private static final Logger logger = LogManager.getLogger(ConfigSnapshot.class);
+    private static final String GLOBAL_FILE = "config.properties";
+    private static final String BROWSERSTACK_FILE = "config-browserstack.properties";
+    private static final List<String> PLATFORMS = List.of("local-driver", "local-driver-manager", "cloud", "docker", "grid");
+    private static final List<String> NUMERIC_SUFFIXES = List.of("-ms", "-timeout", "-count", "-threads", "-retries", "-seconds");
+    // Set by the JVM or the launcher rather than by a run; never taken as configuration
+    private static final List<String> JVM_PROPERTY_PREFIXES = List.of("java.", "javax.", "jdk.", "sun.", "os.", "user.",
+            "file.", "line.", "path.", "native.", "stdout.", "stderr.", "awt.");
+    private static final String ENVIRONMENT_PREFIX = "BH_";
+
+    private final String source;
+    private final Path directory;
+    private final String environment;
+    private final Map<String, Value> globalValues;
+    private final Map<String, Value> environmentValues;
+    private final Map<String, Value> browserStackValues;
+    // Environment over global over BrowserStack, for the typed accessors
+    private final Map<String, Value> mergedValues;
+
+    private static final class Value {
+        private final String text;
+        private final Long number;
+        private final Boolean flag;
+        // The text as an enum constant name; the constant is resolved on first lookup, when the enum type is known
+        private final String enumName;
+        private volatile Enum<?> enumConstant;
+
+        private Value(String text) {
+            this.text = text;
+            String trimmed = text.trim();
+            this.number = parseNumber(trimmed);
+            this.flag = "true".equalsIgnoreCase(trimmed) ? Boolean.TRUE
+                    : "false".equalsIgnoreCase(trimmed) ? Boolean.FALSE : null;
+            this.enumName = trimmed.toUpperCase(Locale.ROOT).replace('-', '_');
+        }
+
+        private static Long parseNumber(String text) {
+            try {
+                return Long.valueOf(text);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    private ConfigSnapshot(String source, Path directory, String environment, Map<String, Value> globalValues,
+                           Map<String, Value> environmentValues, Map<String, Value> browserStackValues) {
+        this.source = source;
+        this.directory = directory;
+        this.environment = environment;
+        this.globalValues = globalValues;
+        this.environmentValues = environmentValues;
+        this.browserStackValues = browserStackValues;
+
+        Map<String, Value> merged = new HashMap<>(browserStackValues);
+        merged.putAll(globalValues);
+        merged.putAll(environmentValues);
+        this.mergedValues = Collections.unmodifiableMap(merged);
+    }
+
+    /**
+     * Loads the configuration from the configured directory or the classpath and applies the overrides.
+     *
+     * @return the new snapshot
+     */
+    public static ConfigSnapshot load() {
+        String directory = System.getProperty("config.dir", System.getenv("BH_CONFIG_DIR"));
+        return load(directory == null || directory.isBlank() ? null : Paths.get(directory.trim()));
+    }
+
+    /**
+     * Loads the configuration from a directory, or from /config on the classpath when the directory is null.
+     *
+     * @param directory folder holding config.properties and the environment files, or null
+     * @return the new snapshot
+     */
+    public static ConfigSnapshot load(Path directory) {
+        String source = directory == null ? "classpath:/config" : directory.toAbsolutePath().toString();
+        try {
+            Map<String, Value> global = read(directory, GLOBAL_FILE, true);
+            logger.info("Loaded global configuration from {}/{}.", source, GLOBAL_FILE);
+
+            // Determine the environment (default to 'qa')
+            Value env = global.get("env");
+            String environment = env == null || env.text.isBlank() ? "qa" : env.text.trim().toLowerCase(Locale.ROOT);
+            Map<String, Value> environmentValues = read(directory, environment + ".properties", true);
+            logger.info("Loaded {} environment configuration.", environment);
+
+            // Load BrowserStack-specific configuration (if present)
+            Map<String, Value> browserStack = Collections.emptyMap();
+            if ("cloud".equalsIgnoreCase(text(global, "execution-platform")) && "browserstack".equalsIgnoreCase(text(global, "cloud-provider"))) {
+                browserStack = read(directory, BROWSERSTACK_FILE, false);
+                logger.info("Loaded BrowserStack-specific configuration from {}.", BROWSERSTACK_FILE);
+            }
+            global = withUnmatchedOverrides(global, environmentValues, browserStack);
+            return new ConfigSnapshot(source, directory == null ? classpathDirectory() : directory,
+                    environment, global, environmentValues, browserStack);
+        } catch (IOException e) {
+            logger.error("Failed to load configuration files from {}.", source, e);
+            throw new RuntimeException("Failed to load configuration files from " + source, e);
+        }
+    }
+
+    /**
+     * Gets a value, checking environment-specific properties first, then global properties.
+     */
+    public String get(String key) {
+        Value value = environmentValues.get(key);
+        if (value == null) {
+            value = globalValues.get(key);
+        }
+        return value == null ? null : value.text;
+    }
+
+    /**
+     * Gets a value from global properties only.
+     */
+    public String getGlobal(String key) {
+        return text(globalValues, key);
+    }
+
+    /**
+     * Gets a value from environment-specific properties only.
+     */
+    public String getEnvironmentSpecific(String key) {
+        return text(environmentValues, key);
+    }
+
+    /**
+     * Gets a value from the BrowserStack configuration.
+     */
+    public String getBrowserStack(String key) {
+        return text(browserStackValues, key);
+    }
+
+    /**
+     * Gets the environment whose properties were loaded, e.g. qa.
+     */
+    public String getEnvironment() {
+        return environment;
+    }
+
+    /**
+     * Gets where the files of this snapshot were read from.
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Gets the folder the files were read from, also when they came from an exploded classpath directory.
+     *
+     * @return the folder, or null when the files are inside a jar
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Lists the keys whose value differs from another snapshot, including added and removed keys.
+     *
+     * @param other the snapshot to compare with, usually the previous one
+     * @return the changed keys; empty when both hold the same configuration
+     */
+    public Set<String> changedKeys(ConfigSnapshot other) {
+        Set<String> changed = new TreeSet<>();
+        for (Map<String, Value> values : List.of(globalValues, environmentValues, browserStackValues)) {
+            changed.addAll(values.keySet());
+        }
+        for (Map<String, Value> values : List.of(other.globalValues, other.environmentValues, other.browserStackValues)) {
+            changed.addAll(values.keySet());
+        }
+        changed.removeIf(key -> Objects.equals(get(key), other.get(key))
+                && Objects.equals(getBrowserStack(key), other.getBrowserStack(key)));
+        return changed;
+    }
+
+    /**
+     * Checks the values a run cannot start with: an unknown execution-platform or page-load-strategy, or a
+     * non-numeric timeout, count or retry setting.
+     *
+     * @return this snapshot
+     * @throws IllegalStateException listing every invalid value
+     */
+    public ConfigSnapshot validate() {
+        List<String> problems = new ArrayList<>();
+        String platform = getGlobal("execution-platform");
+        if (platform == null || !PLATFORMS.contains(platform.trim().toLowerCase(Locale.ROOT))) {
+            problems.add("execution-platform must be one of " + PLATFORMS + " but is " + platform);
+        }
+        mergedValues.forEach((key, value) -> {
+            if (!value.text.isBlank() && value.number == null && NUMERIC_SUFFIXES.stream().anyMatch(key::endsWith)) {
+                problems.add(key + " must be a number but is " + value.text);
+            }
+        });
+        try {
+            getEnum("page-load-strategy", PageLoadStrategy.class, PageLoadStrategy.NORMAL);
+        } catch (IllegalArgumentException e) {
+            problems.add(e.getMessage());
+        }
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("Invalid configuration in " + source + ": " + String.join("; ", problems));
+        }
+        return this;
+    }
+
+    /**
+     * Gets an integer from the environment, global or BrowserStack configuration, in that order.
+     *
+     * @param key          the property key
+     * @param defaultValue returned when the key is missing or blank
+     * @return the parsed value
+     */
+    public int getInt(String key, int defaultValue) {
+        return Math.toIntExact(getLong(key, defaultValue));
+    }
+
+    /**
+     * Gets a long from the environment, global or BrowserStack configuration, in that order.
+     *
+     * @param key          the property key
+     * @param defaultValue returned when the key is missing or blank
+     * @return the parsed value
+     */
+    public long getLong(String key, long defaultValue) {
+        return number(key, mergedValues.get(key), defaultValue);
+    }
+
+    /**
+     * Gets an integer from the BrowserStack configuration, falling back to the environment and global
+     * configuration when the BrowserStack file does not set it.
+     *
+     * @param key          the property key, e.g. browserstack.maxSessions
+     * @param defaultValue returned when the key is missing or blank everywhere
+     * @return the parsed value
+     */
+    public int getBrowserStackInt(String key, int defaultValue) {
+        Value value = browserStackValues.get(key);
+        if (value == null || value.text.isBlank()) {
+            value = mergedValues.get(key);
+        }
+        return Math.toIntExact(number(key, value, defaultValue));
+    }
+
+    private static long number(String key, Value value, long defaultValue) {
+        if (value == null || value.text.isBlank()) {
+            return defaultValue;
+        }
+        if (value.number == null) {
+            throw new IllegalArgumentException("Configuration value of " + key + " is not a number: " + value.text);
+        }
+        return value.number;
+    }
+
+    /**
+     * Gets a flag from the environment, global or BrowserStack configuration. Anything other than true is false,
+     * as with {@link Boolean#parseBoolean}.
+     *
+     * @param key          the property key
+     * @param defaultValue returned when the key is missing or blank
+     * @return the parsed value
+     */
+    public boolean getBoolean(String key, boolean defaultValue) {
+        Value value = mergedValues.get(key);
+        if (value == null || value.text.isBlank()) {
+            return defaultValue;
+        }
+        return Boolean.TRUE.equals(value.flag);
+    }
+
+    /**
+     * Gets a duration configured in milliseconds, e.g. the *-ms keys.
+     */
+    public Duration getMillis(String key, long defaultMillis) {
+        return Duration.ofMillis(getLong(key, defaultMillis));
+    }
+
+    /**
+     * Gets a duration configured in seconds, e.g. the *-timeout keys.
+     */
+    public Duration getSeconds(String key, long defaultSeconds) {
+        return Duration.ofSeconds(getLong(key, defaultSeconds));
+    }
+
+    /**
+     * Gets an enum constant by name, ignoring case and treating '-' as '_'. The constant is cached in the
+     * snapshot, so repeated lookups of the same key do no parsing.
+     *
+     * @param key          the property key
+     * @param type         the enum class
+     * @param defaultValue returned when the key is missing or blank
+     * @return the matching constant
+     */
+    public <E extends Enum<E>> E getEnum(String key, Class<E> type, E defaultValue) {
+        Value value = mergedValues.get(key);
+        if (value == null || value.text.isBlank()) {
+            return defaultValue;
+        }
+        Enum<?> cached = value.enumConstant;
+        if (cached != null && cached.getDeclaringClass() == type) {
+            return type.cast(cached);
+        }
+        try {
+            E constant = Enum.valueOf(type, value.enumName);
+            value.enumConstant = constant;
+            return constant;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Configuration value of " + key + " is not a " + type.getSimpleName() + ": " + value.text, e);
+        }
+    }
+
+    private static String text(Map<String, Value> values, String key) {
+        Value value = values.get(key);
+        return value == null ? null : value.text;
+    }
+
+    private static Path classpathDirectory() {
+        URL resource = ConfigSnapshot.class.getResource("/config/" + GLOBAL_FILE);
+        try {
+            return resource != null && "file".equals(resource.getProtocol()) ? Paths.get(resource.toURI()).getParent() : null;
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+
+    private static Map<String, Value> read(Path directory, String fileName, boolean required) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = open(directory, fileName)) {
+            if (in == null) {
+                if (required) {
+                    throw new IOException("Configuration file not found: " + fileName);
+                }
+                return Collections.emptyMap();
+            }
+            properties.load(in);
+        }
+
+        Map<String, Value> values = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            values.put(key, new Value(override(key, properties.getProperty(key))));
+        }
+        return Collections.unmodifiableMap(values);
+    }
+
+    private static InputStream open(Path directory, String fileName) throws IOException {
+        if (directory == null) {
+            return ConfigSnapshot.class.getResourceAsStream("/config/" + fileName);
+        }
+        Path file = directory.resolve(fileName);
+        return Files.exists(file) ? Files.newInputStream(file) : null;
+    }
+
+    private static String override(String key, String fileValue) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            value = System.getenv(environmentName(key));
+        }
+        return value == null ? fileValue : value;
+    }
+
+    // Adds system property and BH_* environment overrides of keys that none of the files define
+    private static Map<String, Value> withUnmatchedOverrides(Map<String, Value> global, Map<String, Value> environmentValues,
+                                                             Map<String, Value> browserStack) {
+        Set<String> fileKeys = new TreeSet<>(global.keySet());
+        fileKeys.addAll(environmentValues.keySet());
+        fileKeys.addAll(browserStack.keySet());
+        Set<String> fileEnvironmentNames = new TreeSet<>();
+        fileKeys.forEach(key -> fileEnvironmentNames.add(environmentName(key)));
+
+        Map<String, Value> values = new HashMap<>(global);
+        Properties systemProperties = System.getProperties();
+        for (String key : systemProperties.stringPropertyNames()) {
+            if (!fileKeys.contains(key) && JVM_PROPERTY_PREFIXES.stream().noneMatch(key::startsWith)) {
+                values.put(key, new Value(systemProperties.getProperty(key)));
+            }
+        }
+        System.getenv().forEach((name, value) -> {
+            if (name.startsWith(ENVIRONMENT_PREFIX) && !"BH_CONFIG_DIR".equals(name) && !fileEnvironmentNames.contains(name)) {
+                String key = name.substring(ENVIRONMENT_PREFIX.length()).toLowerCase(Locale.ROOT).replace('_', '-');
+                values.putIfAbsent(key, new Value(value));
+            }
+        });
+        return Collections.unmodifiableMap(values);
+    }
+
+    private static String environmentName(String key) {
+        return ENVIRONMENT_PREFIX + key.toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9]", "_");
+    }
+}
@@ -1,10 +1,18 @@
 package com.brighthorizon.test.automation.framework.reporting;
 
 import com.brighthorizon.test.automation.framework.config.ConfigReader;
+import org.apache.logging.log4j.core.config.Configurator;
 
 import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
 
 public class LogSetup {
+    public static final String SYNC = "sync";
+    public static final String ASYNC = "async";
+
+    private static String activeMode = SYNC;
+
     public static void setupLoggingProperties() {
         // Fetch dynamic values
         String projectName = sanitize(ConfigReader.getGlobal("project.name"), "DefaultProject");
@@ -18,6 +26,27 @@ public class LogSetup {
 
         // Ensure logs directory exists
         ensureLogDirectory("logs");
+
+        applyLogMode(System.getProperty("log-mode", String.valueOf(ConfigReader.getGlobal("log-mode"))));
+    }
+
+    /**
+     * Switches Log4j to log4j2-async.xml (async) or back to log4j2.xml (sync). Applying the active mode again does nothing.
+     *
+     * @param mode sync or async; anything else is treated as sync
+     */
+    public static synchronized void applyLogMode(String mode) {
+        String requested = ASYNC.equalsIgnoreCase(mode.trim()) ? ASYNC : SYNC;
+        if (requested.equals(activeMode)) {
+            return;
+        }
+        URL configuration = LogSetup.class.getResource(ASYNC.equals(requested) ? "/log4j2-async.xml" : "/log4j2.xml");
+        try {
+            Configurator.reconfigure(configuration.toURI());
+        } catch (URISyntaxException e) {
+            throw new RuntimeException("Invalid Log4j configuration location: " + configuration, e);
+        }
+        activeMode = requested;
     }
 
     private static String sanitize(String value, String defaultValue) {
@@ -3,42 +3,77 @@ package com.brighthorizon.test.automation.framework.reporting;
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.brighthorizon.test.automation.framework.config.ConfigReader;
+import com.brighthorizon.test.automation.framework.config.ConfigSnapshot;
 import io.qameta.allure.Allure;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
-import java.util.Properties;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
+/**
+ * Reports test steps to Extent, Allure or the log. Extent calls from test threads only enqueue an event;
+ * a single background writer owns the Extent report, applies the events per test context and flushes
+ * the HTML in batches and once more at the end of the suite.
+ */
 public class ReportManager {
     private static final Logger logger = LogManager.getLogger(ReportManager.class);
+    private static final long WRITER_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final ConcurrentLinkedQueue<ReportEvent> events = new ConcurrentLinkedQueue<>();
+    // Each thread logs into its own test context, so parallel tests never write into each other's entries
+    private static final ThreadLocal<Long> currentContext = new ThreadLocal<>();
+    private static final AtomicLong contextIds = new AtomicLong();
+    private static volatile Thread writer;
     private static ExtentReports extent;
-    private static ExtentTest test;
     private static String reportType;
     private static String platform;
     private static String applicationName;
     private static String reportPath;
+    private static long flushIntervalNanos;
+    private static int flushBatchSize;
 
-    static {
-        // Load configuration from properties
-        Properties properties = new Properties();
-        try {
-            properties.load(new FileInputStream("src/main/resources/config/config.properties"));
-            reportType = properties.getProperty("report.type", "testng").toLowerCase();
-            platform = properties.getProperty("platform", "web").toLowerCase();
-            applicationName = properties.getProperty("application.name", "default").toLowerCase();
+    private enum EventType { START, LOG, END, FLUSH }
 
-            // Construct report path dynamically
-            reportPath = "reports/" + reportType + "/" + platform + "/" + applicationName;
-            createDirectory(reportPath);
+    private static final class ReportEvent {
+        private final EventType type;
+        private final long contextId;
+        private final String text;
+        private final String status;
+        private final CountDownLatch flushed;
 
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to load config.properties", e);
+        private ReportEvent(EventType type, long contextId, String text, String status, CountDownLatch flushed) {
+            this.type = type;
+            this.contextId = contextId;
+            this.text = text;
+            this.status = status;
+            this.flushed = flushed;
         }
     }
 
+    static {
+        ConfigSnapshot config = ConfigReader.snapshot();
+        reportType = valueOrDefault(config.getGlobal("report.type"), "testng").toLowerCase();
+        platform = valueOrDefault(config.getGlobal("platform"), "web").toLowerCase();
+        applicationName = valueOrDefault(config.getGlobal("application.name"), "default").toLowerCase();
+        flushIntervalNanos = config.getMillis("report-flush-interval-ms", 5000).toNanos();
+        flushBatchSize = config.getInt("report-flush-batch-size", 500);
+
+        // Construct report path dynamically
+        reportPath = "reports/" + reportType + "/" + platform + "/" + applicationName;
+        createDirectory(reportPath);
+    }
+
+    private static String valueOrDefault(String value, String defaultValue) {
+        return value == null ? defaultValue : value;
+    }
+
     private static void createDirectory(String path) {
         File directory = new File(path);
         if (!directory.exists()) {
@@ -54,7 +89,7 @@ public class ReportManager {
         return reportType;
     }
 
-    // Initialize ExtentReports
+    // Initialize ExtentReports. Only the writer thread touches the report.
     private static ExtentReports initExtentReports() {
         String extentReportFile = reportPath + "/TestExecutionReport.html";
         ExtentSparkReporter sparkReporter = new ExtentSparkReporter(extentReportFile);
@@ -66,43 +101,147 @@ public class ReportManager {
         return extent;
     }
 
-    // Start ExtentReports test
-    public static ExtentTest startExtentTest(String testName) {
-        if (extent == null) {
-            extent = initExtentReports();
-        }
-        test = extent.createTest(testName);
-        return test;
+    /**
+     * Starts a new Extent test context for the current thread. Later log calls on this thread go to it.
+     */
+    public static void startExtentTest(String testName) {
+        long contextId = contextIds.incrementAndGet();
+        currentContext.set(contextId);
+        enqueue(new ReportEvent(EventType.START, contextId, testName, null, null));
     }
 
     // Unified logging method
     public static void log(String testName, String message, String status) {
         if (reportType.equals("extent")) {
-            if (test == null) {
+            if (currentContext.get() == null) {
                 startExtentTest(testName);
             }
-            switch (status.toLowerCase()) {
-                case "info":
-                    test.info(message);
-                    break;
-                case "pass":
-                    test.pass(message);
-                    break;
-                case "fail":
-                    test.fail(message);
-                    break;
-                default:
-                    test.info(message);
-                    break;
-            }
+            enqueue(new ReportEvent(EventType.LOG, currentContext.get(), message, status.toLowerCase(), null));
         } else if (reportType.equals("allure")) {
+            // Allure keeps the running test per thread, so steps must be added on the test thread
             Allure.step(message);
         } else {
             logger.info("[" + status.toUpperCase() + "] " + message);
         }
     }
 
+    /**
+     * Closes the current thread's test context. The report is written by the background writer, not here.
+     */
     public static void endExtentTest() {
+        Long contextId = currentContext.get();
+        if (contextId != null) {
+            currentContext.remove();
+            enqueue(new ReportEvent(EventType.END, contextId, null, null, null));
+        }
+    }
+
+    /**
+     * Waits until every queued event is applied and the report is written. Call once at the end of the suite.
+     */
+    public static void flush() {
+        if (writer == null) {
+            return;
+        }
+        CountDownLatch flushed = new CountDownLatch(1);
+        enqueue(new ReportEvent(EventType.FLUSH, 0, null, null, flushed));
+        LockSupport.unpark(writer);
+        try {
+            if (!flushed.await(30, TimeUnit.SECONDS)) {
+                logger.warn("Timed out waiting for the report writer to flush.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void enqueue(ReportEvent event) {
+        events.offer(event);
+        if (writer == null) {
+            startWriter();
+        }
+    }
+
+    private static synchronized void startWriter() {
+        if (writer != null) {
+            return;
+        }
+        Thread thread = new Thread(ReportManager::writeEvents, "report-writer");
+        thread.setDaemon(true);
+        thread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(ReportManager::flush, "report-flush"));
+        writer = thread;
+    }
+
+    private static void writeEvents() {
+        Map<Long, ExtentTest> tests = new HashMap<>();
+        int pending = 0;
+        long lastFlush = System.nanoTime();
+        while (true) {
+            ReportEvent event;
+            while ((event = events.poll()) != null) {
+                try {
+                    if (event.type == EventType.FLUSH) {
+                        flushExtent();
+                        pending = 0;
+                        lastFlush = System.nanoTime();
+                        event.flushed.countDown();
+                    } else {
+                        apply(event, tests);
+                        pending++;
+                    }
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to write report event: {}", e.getMessage());
+                }
+                if (pending >= flushBatchSize) {
+                    flushExtent();
+                    pending = 0;
+                    lastFlush = System.nanoTime();
+                }
+            }
+            if (pending > 0 && System.nanoTime() - lastFlush >= flushIntervalNanos) {
+                flushExtent();
+                pending = 0;
+                lastFlush = System.nanoTime();
+            }
+            LockSupport.parkNanos(WRITER_POLL_NANOS);
+        }
+    }
+
+    private static void apply(ReportEvent event, Map<Long, ExtentTest> tests) {
+        if (extent == null) {
+            initExtentReports();
+        }
+        switch (event.type) {
+            case START:
+                tests.put(event.contextId, extent.createTest(event.text));
+                break;
+            case LOG:
+                ExtentTest test = tests.get(event.contextId);
+                if (test == null) {
+                    return;
+                }
+                switch (event.status) {
+                    case "pass":
+                        test.pass(event.text);
+                        break;
+                    case "fail":
+                        test.fail(event.text);
+                        break;
+                    default:
+                        test.info(event.text);
+                        break;
+                }
+                break;
+            case END:
+                tests.remove(event.contextId);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static void flushExtent() {
         if (extent != null) {
             extent.flush();
         }
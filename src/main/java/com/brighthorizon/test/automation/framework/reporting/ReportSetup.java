@@ -1,10 +1,9 @@
 package com.brighthorizon.test.automation.framework.reporting;
 
+import com.brighthorizon.test.automation.framework.config.ConfigReader;
+import com.brighthorizon.test.automation.framework.config.ConfigSnapshot;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
-import java.util.Properties;
 
 public class ReportSetup {
 
@@ -14,21 +13,18 @@ public class ReportSetup {
     private static String reportPath;
 
     static {
-        // Load configuration from properties
-        Properties properties = new Properties();
-        try {
-            properties.load(new FileInputStream("src/main/resources/config/config.properties"));
-            reportType = properties.getProperty("report.type", "testng").toLowerCase();
-            platform = properties.getProperty("platform", "web").toLowerCase();
-            applicationName = properties.getProperty("application.name", "default").toLowerCase();
+        ConfigSnapshot config = ConfigReader.snapshot();
+        reportType = valueOrDefault(config.getGlobal("report.type"), "testng").toLowerCase();
+        platform = valueOrDefault(config.getGlobal("platform"), "web").toLowerCase();
+        applicationName = valueOrDefault(config.getGlobal("application.name"), "default").toLowerCase();
 
-            // Construct the base report path dynamically
-            reportPath = "reports/" + reportType + "/" + platform + "/" + applicationName;
-            createDirectory(reportPath);
+        // Construct the base report path dynamically
+        reportPath = "reports/" + reportType + "/" + platform + "/" + applicationName;
+        createDirectory(reportPath);
+    }
 
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to load config.properties", e);
-        }
+    private static String valueOrDefault(String value, String defaultValue) {
+        return value == null ? defaultValue : value;
     }
 
     /**
@@ -32,4 +32,10 @@ public class CustomExceptions {
             super(message, cause);
         }
     }
+
+    public static class LatencyBudgetExceededException extends RuntimeException {
+        public LatencyBudgetExceededException(String message) {
+            super(message);
+        }
+    }
 }
@@ -16,7 +16,7 @@ public class ExceptionHandler {
 
         // Capture a screenshot if WebDriver is not null
         if (driver != null) {
-            String screenshotPath = ScreenshotUtils.captureScreenshot(driver, "Exception_" + System.currentTimeMillis());
+            String screenshotPath = ScreenshotUtils.captureScreenshot(driver, "Exception");
             logger.info("Screenshot captured for exception: " + screenshotPath);
         }
 
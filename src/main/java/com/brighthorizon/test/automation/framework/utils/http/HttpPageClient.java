@@ -0,0 +1,147 @@
+package com.brighthorizon.test.automation.framework.utils.http;
+
+import com.brighthorizon.test.automation.framework.config.ConfigReader;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.cookie.BasicCookieStore;
+import org.apache.hc.client5.http.entity.UrlEncodedFormEntity;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.client5.http.protocol.RedirectLocations;
+import org.apache.hc.core5.http.NameValuePair;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.message.BasicNameValuePair;
+import org.apache.hc.core5.net.URIBuilder;
+import org.apache.hc.core5.util.Timeout;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fetches and parses pages over plain HTTP for steps that only check server output and do not need a browser.
+ * Keeps cookies and the current page between calls, like a browser tab would.
+ */
+public class HttpPageClient implements Closeable {
+
+    private static final Logger logger = LogManager.getLogger(HttpPageClient.class);
+    private static final String USER_AGENT = "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/131.0 Safari/537.36";
+
+    private final CloseableHttpClient httpClient;
+    private Document currentPage;
+
+    public HttpPageClient() {
+        Timeout timeout = Timeout.ofSeconds(ConfigReader.snapshot().getLong("http-mode-timeout-seconds", 30));
+        this.httpClient = HttpClients.custom()
+                .setDefaultCookieStore(new BasicCookieStore())
+                .setDefaultRequestConfig(RequestConfig.custom().setConnectionRequestTimeout(timeout).setResponseTimeout(timeout).build())
+                .setUserAgent(USER_AGENT)
+                .build();
+    }
+
+    /**
+     * Loads a page, following redirects, and makes it the current page.
+     *
+     * @param url absolute URL, or a URL relative to the current page
+     * @return the parsed page; {@link Document#location()} is the final URL after redirects
+     */
+    public Document open(String url) {
+        return execute(new HttpGet(resolve(url)));
+    }
+
+    /**
+     * Submits a form of the current page the way a browser would, with the given field values
+     * replacing the form's own values.
+     *
+     * @param form   the form element of the current page
+     * @param fields field name to value overrides
+     * @return the parsed response page
+     */
+    public Document submitForm(Element form, Map<String, String> fields) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (Element input : form.select("input[name], select[name], textarea[name]")) {
+            if (!input.is("[type=submit], [type=button], [type=checkbox]:not([checked]), [type=radio]:not([checked])")) {
+                values.put(input.attr("name"), input.val());
+            }
+        }
+        values.putAll(fields);
+
+        List<NameValuePair> parameters = new ArrayList<>();
+        values.forEach((name, value) -> parameters.add(new BasicNameValuePair(name, value)));
+        URI action = resolve(form.hasAttr("action") ? form.absUrl("action") : getCurrentUrl());
+
+        if ("post".equalsIgnoreCase(form.attr("method"))) {
+            HttpPost post = new HttpPost(action);
+            post.setEntity(new UrlEncodedFormEntity(parameters, StandardCharsets.UTF_8));
+            return execute(post);
+        }
+        try {
+            return execute(new HttpGet(new URIBuilder(action).setParameters(parameters).build()));
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid form action: " + action, e);
+        }
+    }
+
+    /**
+     * Returns the page loaded last.
+     */
+    public Document getCurrentPage() {
+        if (currentPage == null) {
+            throw new IllegalStateException("No page has been opened in this HTTP session.");
+        }
+        return currentPage;
+    }
+
+    /**
+     * Returns the final URL of the page loaded last.
+     */
+    public String getCurrentUrl() {
+        return getCurrentPage().location();
+    }
+
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
+    }
+
+    private Document execute(HttpUriRequestBase request) {
+        HttpClientContext context = HttpClientContext.create();
+        try {
+            String html = httpClient.execute(request, context, response -> {
+                if (response.getCode() >= 400) {
+                    throw new IOException("HTTP " + response.getCode() + " for " + request.getRequestUri());
+                }
+                return EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
+            });
+            RedirectLocations redirects = context.getRedirectLocations();
+            URI finalUri = redirects != null && redirects.size() > 0 ? redirects.get(redirects.size() - 1) : request.getUri();
+            currentPage = Jsoup.parse(html, finalUri.toString());
+            logger.info("Fetched {} ({} bytes)", finalUri, html.length());
+            return currentPage;
+        } catch (IOException e) {
+            throw new UncheckedIOException("HTTP request failed: " + request.getRequestUri(), e);
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid request URI: " + request.getRequestUri(), e);
+        }
+    }
+
+    private URI resolve(String url) {
+        URI uri = URI.create(url);
+        return uri.isAbsolute() || currentPage == null ? uri : URI.create(currentPage.location()).resolve(uri);
+    }
+}
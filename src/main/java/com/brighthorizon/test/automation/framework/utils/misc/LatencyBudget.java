@@ -0,0 +1,163 @@
+package com.brighthorizon.test.automation.framework.utils.misc;
+
+import com.brighthorizon.test.automation.framework.config.ConfigReader;
+import com.brighthorizon.test.automation.framework.utils.exception.CustomExceptions;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Attributes dead time of the current thread's scenario and step: fixed sleeps, implicit waits that expired
+ * and explicit waits that timed out. A step whose dead time exceeds latency-budget-step-ms is logged
+ * (latency-budget-mode=warn) or failed (latency-budget-mode=fail).
+ */
+public class LatencyBudget {
+
+    private static final Logger logger = LogManager.getLogger(LatencyBudget.class);
+    private static final ThreadLocal<Ledger> ledger = ThreadLocal.withInitial(Ledger::new);
+
+    public enum Category {
+        SLEEP("sleep", true),
+        IMPLICIT_WAIT_EXPIRY("implicit wait expiry", true),
+        EXPLICIT_WAIT_TIMEOUT("explicit wait timeout", true),
+        // Short waits for elements that are expected to be absent; reported but not charged to the budget
+        FAST_NEGATIVE("fast-negative wait", false);
+
+        private final String label;
+        private final boolean charged;
+
+        Category(String label, boolean charged) {
+            this.label = label;
+            this.charged = charged;
+        }
+    }
+
+    private static class Ledger {
+        private String scenario = "no scenario";
+        private int step;
+        private final long[] scenarioNanos = new long[Category.values().length];
+        private final long[] stepNanos = new long[Category.values().length];
+    }
+
+    /**
+     * Starts attributing dead time to a new scenario on the current thread.
+     */
+    public static void startScenario(String scenario) {
+        Ledger current = new Ledger();
+        current.scenario = scenario;
+        ledger.set(current);
+    }
+
+    /**
+     * Starts attributing dead time to the next step of the current scenario.
+     */
+    public static void startStep() {
+        Ledger current = ledger.get();
+        current.step++;
+        Arrays.fill(current.stepNanos, 0);
+    }
+
+    /**
+     * Checks the finished step against latency-budget-step-ms.
+     *
+     * @throws CustomExceptions.LatencyBudgetExceededException in fail mode when the step went over budget
+     */
+    public static void endStep() {
+        Ledger current = ledger.get();
+        long charged = chargedNanos(current.stepNanos);
+        Duration budget = getStepBudget();
+        String mode = getMode();
+        if ("off".equals(mode) || charged <= budget.toNanos()) {
+            return;
+        }
+        String message = String.format("Step %d of '%s' spent %d ms of dead time, over its %d ms budget (%s).",
+                current.step, current.scenario, charged / 1_000_000, budget.toMillis(), breakdown(current.stepNanos));
+        if ("fail".equals(mode)) {
+            throw new CustomExceptions.LatencyBudgetExceededException(message);
+        }
+        logger.warn(message);
+    }
+
+    /**
+     * Ends the current thread's scenario.
+     *
+     * @return a printable summary of the scenario's dead time, or null when none was recorded
+     */
+    public static String endScenario() {
+        Ledger current = ledger.get();
+        ledger.remove();
+        long total = 0;
+        for (long nanos : current.scenarioNanos) {
+            total += nanos;
+        }
+        if (total == 0) {
+            return null;
+        }
+        return String.format("Latency budget: %d ms of dead time (%s).", chargedNanos(current.scenarioNanos) / 1_000_000,
+                breakdown(current.scenarioNanos));
+    }
+
+    /**
+     * Charges time to the current thread's scenario and step.
+     */
+    public static void record(Category category, long nanos) {
+        Ledger current = ledger.get();
+        current.stepNanos[category.ordinal()] += nanos;
+        current.scenarioNanos[category.ordinal()] += nanos;
+    }
+
+    /**
+     * Gets the time booked under a category in the current thread's scenario so far.
+     */
+    public static long recordedNanos(Category category) {
+        return ledger.get().scenarioNanos[category.ordinal()];
+    }
+
+    /**
+     * Sleeps for a fixed delay and charges it to the budget. Use instead of Thread.sleep.
+     */
+    public static void sleep(Duration delay) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            Thread.sleep(delay.toMillis());
+        } finally {
+            record(Category.SLEEP, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Gets latency-budget-step-ms, the dead time a single step may accumulate. Defaults to 5000 ms.
+     */
+    public static Duration getStepBudget() {
+        return ConfigReader.snapshot().getMillis("latency-budget-step-ms", 5000);
+    }
+
+    private static String getMode() {
+        String value = ConfigReader.getGlobal("latency-budget-mode");
+        return value == null || value.isBlank() ? "warn" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long chargedNanos(long[] nanos) {
+        long charged = 0;
+        for (Category category : Category.values()) {
+            if (category.charged) {
+                charged += nanos[category.ordinal()];
+            }
+        }
+        return charged;
+    }
+
+    private static String breakdown(long[] nanos) {
+        StringBuilder breakdown = new StringBuilder();
+        for (Category category : Category.values()) {
+            long millis = nanos[category.ordinal()] / 1_000_000;
+            if (millis > 0) {
+                breakdown.append(breakdown.length() == 0 ? "" : ", ").append(category.label).append(' ').append(millis).append(" ms");
+            }
+        }
+        return breakdown.length() == 0 ? "none" : breakdown.toString();
+    }
+}
@@ -0,0 +1,149 @@
+package com.brighthorizon.test.automation.framework.utils.selenium;
+
+import com.brighthorizon.test.automation.framework.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.net.URI;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Named snapshots of cookies, localStorage, sessionStorage and URL, taken after a preamble such as
+ * "home page opened, cookies accepted, Find a Center clicked" and restored into a fresh or pooled session,
+ * so later scenarios start at the step they test. Checkpoints live for the JVM and are shared across threads.
+ */
+public class BrowserCheckpoint {
+
+    private static final Logger logger = LogManager.getLogger(BrowserCheckpoint.class);
+    private static final Map<String, Checkpoint> checkpoints = new ConcurrentHashMap<>();
+
+    private static final String CAPTURE_STORAGE_SCRIPT =
+            "function dump(storage) { var entries = {};" +
+            "    for (var i = 0; i < storage.length; i++) { var key = storage.key(i); entries[key] = storage.getItem(key); }" +
+            "    return entries; }" +
+            "try { return {local: dump(window.localStorage), session: dump(window.sessionStorage)}; }" +
+            "catch (e) { return {local: {}, session: {}}; }";
+    private static final String RESTORE_STORAGE_SCRIPT =
+            "var local = arguments[0], session = arguments[1];" +
+            "try { window.localStorage.clear(); window.sessionStorage.clear();" +
+            "    Object.keys(local).forEach(function (key) { window.localStorage.setItem(key, local[key]); });" +
+            "    Object.keys(session).forEach(function (key) { window.sessionStorage.setItem(key, session[key]); });" +
+            "} catch (e) {}";
+
+    private static class Checkpoint {
+        private final String url;
+        private final Set<Cookie> cookies;
+        private final Map<String, String> localStorage;
+        private final Map<String, String> sessionStorage;
+
+        private Checkpoint(String url, Set<Cookie> cookies, Map<String, String> localStorage, Map<String, String> sessionStorage) {
+            this.url = url;
+            this.cookies = cookies;
+            this.localStorage = localStorage;
+            this.sessionStorage = sessionStorage;
+        }
+    }
+
+    /**
+     * Records the current page's URL, cookies and web storage under the name, replacing an earlier capture.
+     */
+    @SuppressWarnings("unchecked")
+    public static void capture(WebDriver driver, String name) {
+        Map<String, Map<String, String>> storage = (Map<String, Map<String, String>>)
+                ((JavascriptExecutor) driver).executeScript(CAPTURE_STORAGE_SCRIPT);
+        Checkpoint checkpoint = new Checkpoint(driver.getCurrentUrl(), driver.manage().getCookies(),
+                storage.get("local"), storage.get("session"));
+        checkpoints.put(name, checkpoint);
+        logger.info("Captured checkpoint '{}' at {} ({} cookie(s), {} localStorage and {} sessionStorage item(s)).",
+                name, checkpoint.url, checkpoint.cookies.size(), checkpoint.localStorage.size(), checkpoint.sessionStorage.size());
+    }
+
+    /**
+     * Checks whether a checkpoint with the name was captured in this JVM.
+     */
+    public static boolean exists(String name) {
+        return checkpoints.containsKey(name);
+    }
+
+    /**
+     * Loads a captured checkpoint into the session: cookies and storage are written on the checkpoint's origin,
+     * then its URL is opened.
+     *
+     * @return false when no checkpoint with the name was captured; the session is left untouched
+     */
+    public static boolean restore(WebDriver driver, String name) {
+        Checkpoint checkpoint = checkpoints.get(name);
+        if (checkpoint == null) {
+            return false;
+        }
+        openOrigin(driver, checkpoint.url);
+        driver.manage().deleteAllCookies();
+        for (Cookie cookie : checkpoint.cookies) {
+            addCookie(driver, cookie);
+        }
+        ((JavascriptExecutor) driver).executeScript(RESTORE_STORAGE_SCRIPT, checkpoint.localStorage, checkpoint.sessionStorage);
+        driver.get(checkpoint.url);
+        logger.info("Restored checkpoint '{}' at {}.", name, checkpoint.url);
+        return true;
+    }
+
+    /**
+     * Checks whether cookie-consent-injection is set, i.e. consent cookies replace clicking the banner.
+     */
+    public static boolean isConsentInjectionEnabled() {
+        return ConfigReader.snapshot().getBoolean("cookie-consent-injection", false);
+    }
+
+    /**
+     * Sets the consent cookies from cookie-consent-cookies on the URL's origin, so the consent banner
+     * does not appear when the URL is opened. {now} in a value is replaced by the current UTC time.
+     *
+     * @param url the page that will be opened next
+     */
+    public static void injectCookieConsent(WebDriver driver, String url) {
+        String configured = ConfigReader.getGlobal("cookie-consent-cookies");
+        if (configured == null || configured.isBlank()) {
+            logger.warn("cookie-consent-cookies is empty; no consent cookies injected.");
+            return;
+        }
+        openOrigin(driver, url);
+        String now = Instant.now().truncatedTo(ChronoUnit.SECONDS).toString();
+        Date expiry = Date.from(Instant.now().plus(365, ChronoUnit.DAYS));
+        for (String entry : configured.split(";")) {
+            int separator = entry.indexOf('=');
+            if (separator <= 0) {
+                continue;
+            }
+            String value = entry.substring(separator + 1).trim().replace("{now}", now);
+            addCookie(driver, new Cookie.Builder(entry.substring(0, separator).trim(), value).path("/").expiresOn(expiry).build());
+        }
+        logger.info("Injected cookie consent for {}.", URI.create(url).getHost());
+    }
+
+    // Cookies and storage can only be written while a page of the origin is open; the favicon is the cheapest one
+    private static void openOrigin(WebDriver driver, String url) {
+        URI target = URI.create(url);
+        String origin = target.getScheme() + "://" + target.getAuthority();
+        String current = driver.getCurrentUrl();
+        if (current == null || !current.startsWith(origin + "/")) {
+            driver.get(origin + "/favicon.ico");
+        }
+    }
+
+    private static void addCookie(WebDriver driver, Cookie cookie) {
+        try {
+            driver.manage().addCookie(cookie);
+        } catch (WebDriverException e) {
+            logger.debug("Skipping cookie {} for {}: {}", cookie.getName(), cookie.getDomain(), e.getMessage());
+        }
+    }
+}
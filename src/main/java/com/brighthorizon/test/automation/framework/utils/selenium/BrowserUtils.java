@@ -2,13 +2,29 @@ package com.brighthorizon.test.automation.framework.utils.selenium;
 
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.support.ui.ExpectedCondition;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
 
 public class BrowserUtils {
 
+    // Each step waits for scrollend; when nothing moved or the event is unsupported, two animation frames suffice
+    private static final String SCROLL_SCRIPT =
+            "var pixels = arguments[0], remaining = arguments[1], done = arguments[arguments.length - 1];" +
+            "function next() {" +
+            "    if (remaining-- <= 0) { done(window.scrollY); return; }" +
+            "    var settled = false, before = window.scrollY;" +
+            "    function settle() {" +
+            "        if (settled) return;" +
+            "        settled = true; window.removeEventListener('scrollend', settle); requestAnimationFrame(next);" +
+            "    }" +
+            "    window.addEventListener('scrollend', settle);" +
+            "    window.scrollBy(0, pixels);" +
+            "    requestAnimationFrame(function () { requestAnimationFrame(function () {" +
+            "        if (window.scrollY === before || !('onscrollend' in window)) settle();" +
+            "    }); });" +
+            "}" +
+            "next();";
+
     public static void navigateTo(WebDriver driver, String url) {
         driver.get(url);
     }
@@ -29,24 +45,25 @@ public class BrowserUtils {
         driver.manage().window().maximize();
     }
     public static void waitForPageToLoad(WebDriver driver, int timeoutInSeconds) {
-        new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds)).until((ExpectedCondition<Boolean>) wd -> {
-            JavascriptExecutor js = (JavascriptExecutor) wd;
-            return js.executeScript("return document.readyState").toString().equals("complete");
-        });
+        PageReadiness.documentReady().await(driver, Duration.ofSeconds(timeoutInSeconds));
+    }
+
+    /**
+     * Navigates to the URL and waits for the page's own readiness condition rather than only the page-load strategy.
+     */
+    public static void navigateTo(WebDriver driver, String url, PageReadiness readiness) {
+        driver.get(url);
+        readiness.await(driver);
     }
+
     public static void scrollDownTwice(WebDriver driver) {
-        try {
-            JavascriptExecutor jsExecutor = (JavascriptExecutor) driver;
-
-            // Scroll down a little
-            jsExecutor.executeScript("window.scrollBy(0, 100);");
-            Thread.sleep(500); // Pause to simulate manual delay
-
-            // Scroll down a little again
-            jsExecutor.executeScript("window.scrollBy(0, 100);");
-            Thread.sleep(500); // Pause to simulate manual delay
-        } catch (InterruptedException e) {
-            System.err.println("Interrupted during scrolling: " + e.getMessage());
-        }
+        scrollDown(driver, 100, 2);
+    }
+
+    /**
+     * Scrolls down in steps, each one finishing when the browser reports the scroll has ended.
+     */
+    public static void scrollDown(WebDriver driver, int pixels, int steps) {
+        ((JavascriptExecutor) driver).executeAsyncScript(SCROLL_SCRIPT, pixels, steps);
     }
 }
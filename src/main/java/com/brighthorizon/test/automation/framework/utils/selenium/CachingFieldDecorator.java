@@ -0,0 +1,158 @@
+package com.brighthorizon.test.automation.framework.utils.selenium;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.CacheLookup;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.DefaultFieldDecorator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PageFactory decorator whose {@link CacheLookup} fields keep the resolved element for the lifetime of the page object
+ * and look it up again once if it has gone stale. Fields without {@link CacheLookup} are found on every access, as usual.
+ * <p>
+ * Use with {@code PageFactory.initElements(new CachingFieldDecorator(driver), this)}.
+ */
+public class CachingFieldDecorator extends DefaultFieldDecorator {
+
+    private static final LongAdder cacheHits = new LongAdder();
+    private static final LongAdder cacheMisses = new LongAdder();
+    private static final LongAdder staleRefinds = new LongAdder();
+    private static final LongAdder uncachedLookups = new LongAdder();
+
+    public CachingFieldDecorator(SearchContext searchContext) {
+        super(field -> new CachingElementLocator(searchContext, field));
+    }
+
+    /**
+     * Drops the cached element behind a proxy created by this decorator, e.g. after a wait saw it go stale.
+     * Does nothing for other elements.
+     */
+    public static void invalidate(WebElement element) {
+        if (element != null && Proxy.isProxyClass(element.getClass())
+                && Proxy.getInvocationHandler(element) instanceof RevalidatingElementHandler) {
+            ((RevalidatingElementHandler) Proxy.getInvocationHandler(element)).locator.invalidate();
+        }
+    }
+
+    /**
+     * Summarises cache hits, misses, stale re-finds and uncached lookups since the start of the run.
+     */
+    public static String statistics() {
+        return String.format("Element cache: %d hit(s), %d miss(es), %d stale re-find(s), %d uncached lookup(s).",
+                cacheHits.sum(), cacheMisses.sum(), staleRefinds.sum(), uncachedLookups.sum());
+    }
+
+    @Override
+    protected WebElement proxyForLocator(ClassLoader loader, ElementLocator locator) {
+        return (WebElement) Proxy.newProxyInstance(loader,
+                new Class[]{WebElement.class, WrapsElement.class, Locatable.class},
+                new RevalidatingElementHandler((CachingElementLocator) locator));
+    }
+
+    private static class CachingElementLocator implements ElementLocator {
+        private final SearchContext searchContext;
+        private final By by;
+        private final boolean cacheable;
+        private volatile WebElement cachedElement;
+        private volatile List<WebElement> cachedElements;
+
+        private CachingElementLocator(SearchContext searchContext, Field field) {
+            Annotations annotations = new Annotations(field);
+            this.searchContext = searchContext;
+            this.by = annotations.buildBy();
+            this.cacheable = annotations.isLookupCached();
+        }
+
+        @Override
+        public WebElement findElement() {
+            if (!cacheable) {
+                uncachedLookups.increment();
+                return searchContext.findElement(by);
+            }
+            WebElement element = cachedElement;
+            if (element != null) {
+                cacheHits.increment();
+                return element;
+            }
+            cacheMisses.increment();
+            element = searchContext.findElement(by);
+            cachedElement = element;
+            return element;
+        }
+
+        @Override
+        public List<WebElement> findElements() {
+            if (!cacheable) {
+                uncachedLookups.increment();
+                return searchContext.findElements(by);
+            }
+            List<WebElement> elements = cachedElements;
+            if (elements != null) {
+                cacheHits.increment();
+                return elements;
+            }
+            cacheMisses.increment();
+            elements = searchContext.findElements(by);
+            cachedElements = elements;
+            return elements;
+        }
+
+        private void invalidate() {
+            cachedElement = null;
+            cachedElements = null;
+        }
+
+        @Override
+        public String toString() {
+            return by.toString();
+        }
+    }
+
+    private static class RevalidatingElementHandler implements InvocationHandler {
+        private final CachingElementLocator locator;
+
+        private RevalidatingElementHandler(CachingElementLocator locator) {
+            this.locator = locator;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("toString".equals(method.getName())) {
+                return "Proxy element for: " + locator;
+            }
+            WebElement element = locator.findElement();
+            if ("getWrappedElement".equals(method.getName())) {
+                return element;
+            }
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                if (!(e.getCause() instanceof StaleElementReferenceException) || !locator.cacheable) {
+                    throw e.getCause();
+                }
+            }
+
+            // The page re-rendered the cached element; look it up once more
+            staleRefinds.increment();
+            locator.invalidate();
+            try {
+                return method.invoke(locator.findElement(), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
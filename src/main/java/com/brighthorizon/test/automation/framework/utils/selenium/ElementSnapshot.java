@@ -0,0 +1,116 @@
+package com.brighthorizon.test.automation.framework.utils.selenium;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Text, attributes and visibility of one element, read together with all other matches in a single script call,
+ * so lists can be validated in memory instead of with a round trip per element and property.
+ */
+public class ElementSnapshot {
+
+    private static final String READ_SCRIPT =
+            "var selector = arguments[0], children = arguments[1], attributes = arguments[2];" +
+            "function visible(el) {" +
+            "    var style = window.getComputedStyle(el), rect = el.getBoundingClientRect();" +
+            "    return style.display !== 'none' && style.visibility !== 'hidden' && rect.width > 0 && rect.height > 0; }" +
+            "function text(el) { return el ? (el.innerText || el.textContent || '').trim() : null; }" +
+            "return Array.prototype.map.call(document.querySelectorAll(selector), function (el) {" +
+            "    var childTexts = {}, attributeValues = {};" +
+            "    Object.keys(children).forEach(function (name) { childTexts[name] = text(el.querySelector(children[name])); });" +
+            "    attributes.forEach(function (name) { attributeValues[name] = el.getAttribute(name); });" +
+            "    return {element: el, text: text(el), visible: visible(el), children: childTexts, attributes: attributeValues};" +
+            "});";
+
+    private final WebElement element;
+    private final String text;
+    private final boolean visible;
+    private final Map<String, String> childTexts;
+    private final Map<String, String> attributes;
+
+    private ElementSnapshot(WebElement element, String text, boolean visible, Map<String, String> childTexts, Map<String, String> attributes) {
+        this.element = element;
+        this.text = text;
+        this.visible = visible;
+        this.childTexts = childTexts;
+        this.attributes = attributes;
+    }
+
+    /**
+     * Reads every element matching a CSS selector in one round trip.
+     *
+     * @param driver         the driver
+     * @param cssSelector    selects the elements, e.g. one card per result
+     * @param childSelectors name to CSS selector, relative to each element, whose text is read as well
+     * @param attributeNames attributes read from each element
+     * @return one snapshot per element, in document order
+     */
+    @SuppressWarnings("unchecked")
+    public static List<ElementSnapshot> readAll(WebDriver driver, String cssSelector, Map<String, String> childSelectors, String... attributeNames) {
+        Object result = ((JavascriptExecutor) driver).executeScript(READ_SCRIPT, cssSelector, childSelectors, Arrays.asList(attributeNames));
+        List<ElementSnapshot> snapshots = new ArrayList<>();
+        for (Object item : (List<Object>) result) {
+            Map<String, Object> values = (Map<String, Object>) item;
+            snapshots.add(new ElementSnapshot(
+                    (WebElement) values.get("element"),
+                    (String) values.get("text"),
+                    Boolean.TRUE.equals(values.get("visible")),
+                    toStrings((Map<String, Object>) values.get("children")),
+                    toStrings((Map<String, Object>) values.get("attributes"))));
+        }
+        return snapshots;
+    }
+
+    /**
+     * Reads every element matching a CSS selector in one round trip, without child texts or attributes.
+     */
+    public static List<ElementSnapshot> readAll(WebDriver driver, String cssSelector) {
+        return readAll(driver, cssSelector, Collections.emptyMap());
+    }
+
+    public WebElement getElement() {
+        return element;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    /**
+     * Gets the text of a child read through the childSelectors of {@link #readAll}.
+     *
+     * @return the trimmed text, or null when the element has no such child
+     */
+    public String getChildText(String name) {
+        return childTexts.get(name);
+    }
+
+    public String getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public String toString() {
+        return "ElementSnapshot{text='" + text + "', visible=" + visible + ", children=" + childTexts + ", attributes=" + attributes + "}";
+    }
+
+    private static Map<String, String> toStrings(Map<String, Object> values) {
+        Map<String, String> strings = new LinkedHashMap<>();
+        if (values != null) {
+            values.forEach((key, value) -> strings.put(key, value == null ? null : String.valueOf(value)));
+        }
+        return strings;
+    }
+}
@@ -1,25 +1,18 @@
 package com.brighthorizon.test.automation.framework.utils.selenium;
 
-import com.brighthorizon.test.automation.framework.config.ConfigReader;
-import com.brighthorizon.test.automation.framework.utils.exception.ExceptionHandler;
 import com.brighthorizon.test.automation.framework.utils.exception.CustomExceptions;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
-
-import java.time.Duration;
 
 public class ElementUtils {
 
     public static void clickElement(WebElement element, WebDriver driver) {
-        waitForElementToBeVisible(element,driver);
         waitForElementToBeClickable(element,driver);
         element.click();
     }
 
     public static void enterText(WebElement element, String text, WebDriver driver) {
-        waitForElementToBeVisible(element,driver);
         waitForElementToBeClickable(element,driver);
         element.clear();
         element.sendKeys(text);
@@ -36,19 +29,18 @@ public class ElementUtils {
 
     public static boolean isElementDisplayed(WebElement element, WebDriver driver) {
         waitForElementToBeVisible(element, driver);
-        return element.isDisplayed();
+        return true;
     }
 
+    // Visibility is part of the clickable check, so one wait covers both
     public static void waitForElementToBeClickable(WebElement element, WebDriver driver)
     {
         try{
-            WebDriverWait elementClickableWait = new WebDriverWait(driver, Duration.ofSeconds(Integer.parseInt(ConfigReader.get("element-clickable-timeout"))) );
-            elementClickableWait.until(ExpectedConditions.elementToBeClickable(element));
+            SmartWait.waitForClickable(element, driver);
         }
-        catch (CustomExceptions.ElementNotClickableException exception)
+        catch (TimeoutException exception)
         {
-            ExceptionHandler.handleException(exception,driver);
-            throw new CustomExceptions.ElementNotClickableException("Element is not clickable -"+element.getAccessibleName());
+            throw new CustomExceptions.ElementNotClickableException(exception.getMessage());
         }
 
     }
@@ -57,13 +49,11 @@ public class ElementUtils {
     {
         try
         {
-            WebDriverWait elementPresentWait = new WebDriverWait(driver, Duration.ofSeconds(Integer.parseInt(ConfigReader.get("element-visibility-timeout"))) );
-            elementPresentWait.until(ExpectedConditions.visibilityOf(element));
+            SmartWait.waitForVisible(element, driver);
         }
-        catch (CustomExceptions.ElementNotVisibleException exception)
+        catch (TimeoutException exception)
         {
-            ExceptionHandler.handleException(exception,driver);
-            throw new CustomExceptions.ElementNotVisibleException("This Element is not visible -"+element.getAccessibleName());
+            throw new CustomExceptions.ElementNotVisibleException(exception.getMessage());
         }
 
     }
@@ -0,0 +1,213 @@
+package com.brighthorizon.test.automation.framework.utils.selenium;
+
+import com.brighthorizon.test.automation.framework.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.remote.Augmenter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Blocks requests the tests do not need (analytics, ads, fonts, optionally images) so pages load faster.
+ * Chromium browsers use the DevTools protocol and report blocked and loaded traffic per scenario;
+ * Firefox gets a proxy auto-config script that sends blocked URLs to an unreachable proxy.
+ * Tracked Chromium sessions also expose their in-flight requests for {@link PageReadiness#networkIdle()}.
+ */
+public class NetworkPolicy {
+
+    private static final Logger logger = LogManager.getLogger(NetworkPolicy.class);
+    private static final List<String> IMAGE_PATTERNS = List.of("*.png*", "*.jpg*", "*.jpeg*", "*.gif*", "*.webp*");
+    // Nothing listens on the discard port, so blocked requests fail immediately
+    private static final String BLACKHOLE_PROXY = "PROXY 127.0.0.1:9";
+    private static final Map<WebDriver, Traffic> trafficByDriver = new ConcurrentHashMap<>();
+
+    private static class Traffic {
+        private final LongAdder blockedRequests = new LongAdder();
+        private final LongAdder loadedRequests = new LongAdder();
+        private final LongAdder loadedBytes = new LongAdder();
+        private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+        private volatile long lastActivityNanos = System.nanoTime();
+
+        private void started(String requestId) {
+            inFlight.add(requestId);
+            lastActivityNanos = System.nanoTime();
+        }
+
+        private void ended(String requestId) {
+            inFlight.remove(requestId);
+            lastActivityNanos = System.nanoTime();
+        }
+
+        private String takeReport() {
+            long blocked = blockedRequests.sumThenReset();
+            long loaded = loadedRequests.sumThenReset();
+            long bytes = loadedBytes.sumThenReset();
+            return String.format("Network policy: %d request(s) blocked, %d request(s) loaded (%d KB transferred).",
+                    blocked, loaded, bytes / 1024);
+        }
+    }
+
+    /**
+     * Checks whether network-policy-enabled is set.
+     */
+    public static boolean isEnabled() {
+        return ConfigReader.snapshot().getBoolean("network-policy-enabled", false);
+    }
+
+    /**
+     * Gets the URL patterns to block from network-block-patterns, plus image patterns when network-block-images is set.
+     * Patterns use * as wildcard.
+     */
+    public static List<String> getBlockedPatterns() {
+        List<String> patterns = new ArrayList<>();
+        String configured = ConfigReader.getGlobal("network-block-patterns");
+        if (configured != null) {
+            Arrays.stream(configured.split(",")).map(String::trim).filter(p -> !p.isEmpty()).forEach(patterns::add);
+        }
+        if (ConfigReader.snapshot().getBoolean("network-block-images", false)) {
+            patterns.addAll(IMAGE_PATTERNS);
+        }
+        return patterns;
+    }
+
+    /**
+     * Applies the configured policy to a new Chromium session. Remote sessions are augmented to reach DevTools.
+     * With network-policy-enabled off, nothing is blocked and the session's requests are only tracked.
+     *
+     * @return the driver to use from now on; may be an augmented instance of a remote driver
+     */
+    public static WebDriver apply(WebDriver driver) {
+        return apply(driver, isEnabled() ? getBlockedPatterns() : List.of());
+    }
+
+    /**
+     * Blocks the given URL patterns in a Chromium session and starts counting its traffic.
+     * Sessions without DevTools access are returned unchanged.
+     *
+     * @return the driver to use from now on; may be an augmented instance of a remote driver
+     */
+    public static WebDriver apply(WebDriver driver, List<String> patterns) {
+        WebDriver target = driver instanceof HasDevTools ? driver : new Augmenter().augment(driver);
+        if (!(target instanceof HasDevTools)) {
+            logger.info("Session has no DevTools access; network policy not applied.");
+            return driver;
+        }
+        try {
+            DevTools devTools = ((HasDevTools) target).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            Traffic traffic = new Traffic();
+            devTools.addListener(new Event<Map<String, Object>>("Network.requestWillBeSent", input -> input.read(Map.class)),
+                    event -> traffic.started(String.valueOf(event.get("requestId"))));
+            devTools.addListener(new Event<Map<String, Object>>("Network.loadingFailed", input -> input.read(Map.class)), event -> {
+                traffic.ended(String.valueOf(event.get("requestId")));
+                if (event.get("blockedReason") != null) {
+                    traffic.blockedRequests.increment();
+                }
+            });
+            devTools.addListener(new Event<Map<String, Object>>("Network.loadingFinished", input -> input.read(Map.class)), event -> {
+                traffic.ended(String.valueOf(event.get("requestId")));
+                traffic.loadedRequests.increment();
+                Object length = event.get("encodedDataLength");
+                if (length instanceof Number) {
+                    traffic.loadedBytes.add(((Number) length).longValue());
+                }
+            });
+            devTools.send(new Command<>("Network.enable", Map.of()));
+            if (!patterns.isEmpty()) {
+                devTools.send(new Command<>("Network.setBlockedURLs", Map.of("urls", patterns)));
+            }
+            trafficByDriver.put(target, traffic);
+            logger.info("Network policy applied: blocking {} URL pattern(s), tracking requests.", patterns.size());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to apply network policy through DevTools: {}", e.getMessage());
+        }
+        return target;
+    }
+
+    /**
+     * Adds the configured policy to Firefox options when network-policy-enabled is set.
+     */
+    public static FirefoxOptions applyTo(FirefoxOptions options) {
+        if (!isEnabled()) {
+            return options;
+        }
+        return applyTo(options, getBlockedPatterns(), ConfigReader.snapshot().getBoolean("network-block-images", false));
+    }
+
+    /**
+     * Routes URLs matching the patterns to an unreachable proxy through a proxy auto-config script,
+     * and disables images through the permission preference. Traffic is not counted for Firefox.
+     */
+    public static FirefoxOptions applyTo(FirefoxOptions options, List<String> patterns, boolean blockImages) {
+        String conditions = patterns.stream()
+                .filter(pattern -> !IMAGE_PATTERNS.contains(pattern))
+                .map(pattern -> "shExpMatch(url, \"" + pattern.replace("\"", "") + "\")")
+                .collect(Collectors.joining(" || "));
+        if (!conditions.isEmpty()) {
+            String script = "function FindProxyForURL(url, host) { return (" + conditions + ") ? \"" + BLACKHOLE_PROXY + "\" : \"DIRECT\"; }";
+            options.addPreference("network.proxy.type", 2);
+            options.addPreference("network.proxy.autoconfig_url", "data:application/x-ns-proxy-autoconfig;base64,"
+                    + Base64.getEncoder().encodeToString(script.getBytes(StandardCharsets.UTF_8)));
+        }
+        if (blockImages) {
+            options.addPreference("permissions.default.image", 2);
+        }
+        return options;
+    }
+
+    /**
+     * Returns the traffic counted since the previous report for this session and starts a new count.
+     *
+     * @return a printable summary, or null when the session's traffic is not tracked
+     */
+    public static String takeScenarioReport(WebDriver driver) {
+        Traffic traffic = trafficByDriver.get(unwrap(driver));
+        return traffic == null ? null : traffic.takeReport();
+    }
+
+    /**
+     * Checks whether the session's requests are tracked through DevTools.
+     */
+    public static boolean isTracked(WebDriver driver) {
+        return trafficByDriver.containsKey(unwrap(driver));
+    }
+
+    /**
+     * Checks whether a tracked session has had at most maxInFlight open requests and no request activity
+     * for the quiet period. Untracked sessions are never idle.
+     */
+    public static boolean isNetworkIdle(WebDriver driver, Duration quietPeriod, int maxInFlight) {
+        Traffic traffic = trafficByDriver.get(unwrap(driver));
+        return traffic != null
+                && traffic.inFlight.size() <= maxInFlight
+                && System.nanoTime() - traffic.lastActivityNanos >= quietPeriod.toNanos();
+    }
+
+    /**
+     * Stops tracking a session. Call when it is quit.
+     */
+    public static void forget(WebDriver driver) {
+        trafficByDriver.remove(unwrap(driver));
+    }
+
+    private static WebDriver unwrap(WebDriver driver) {
+        return driver instanceof WrapsDriver ? ((WrapsDriver) driver).getWrappedDriver() : driver;
+    }
+}
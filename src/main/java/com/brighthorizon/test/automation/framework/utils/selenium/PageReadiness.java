@@ -0,0 +1,134 @@
+package com.brighthorizon.test.automation.framework.utils.selenium;
+
+import com.brighthorizon.test.automation.framework.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+
+/**
+ * A condition that tells when a page is usable, independent of the page-load strategy.
+ * With the eager or none strategy driver.get returns early, and page objects wait for their own
+ * readiness instead: document state, a selector, a script predicate, network idle, or a combination.
+ */
+public class PageReadiness {
+
+    private static final Logger logger = LogManager.getLogger(PageReadiness.class);
+    private static final Duration NETWORK_QUIET_PERIOD = Duration.ofMillis(500);
+    // Long-lived connections (analytics beacons, map tile streams) would otherwise keep a page busy forever
+    private static final int NETWORK_IDLE_MAX_IN_FLIGHT = 2;
+
+    // Without DevTools: idle once no new resource timing entry appeared for the quiet period
+    private static final String RESOURCE_IDLE_SCRIPT =
+            "var count = performance.getEntriesByType('resource').length, now = performance.now();" +
+            "var last = window.__bhResourceIdle;" +
+            "if (!last || last.count !== count) { window.__bhResourceIdle = {count: count, since: now}; return false; }" +
+            "return document.readyState !== 'loading' && now - last.since >= arguments[0];";
+
+    private final String description;
+    private final Predicate<WebDriver> condition;
+
+    private PageReadiness(String description, Predicate<WebDriver> condition) {
+        this.description = description;
+        this.condition = condition;
+    }
+
+    /**
+     * Ready when document.readyState is complete, which is what the normal page-load strategy waits for.
+     */
+    public static PageReadiness documentReady() {
+        return jsPredicate("document complete", "return document.readyState === 'complete';");
+    }
+
+    /**
+     * Ready when the DOM is parsed (document.readyState is interactive or complete), which is what eager waits for.
+     */
+    public static PageReadiness documentInteractive() {
+        return jsPredicate("document interactive", "return document.readyState !== 'loading';");
+    }
+
+    /**
+     * Ready when an element matching the CSS selector is in the DOM.
+     */
+    public static PageReadiness selectorPresent(String cssSelector) {
+        return new PageReadiness("selector '" + cssSelector + "' present",
+                driver -> Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(
+                        "return document.querySelector(arguments[0]) !== null;", cssSelector)));
+    }
+
+    /**
+     * Ready when the script returns true.
+     *
+     * @param description used in logs and timeout messages
+     * @param script      a script body with a return statement, e.g. "return !!window.google;"
+     */
+    public static PageReadiness jsPredicate(String description, String script) {
+        return new PageReadiness(description,
+                driver -> Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(script)));
+    }
+
+    /**
+     * Ready when at most two requests are open and none started or ended for 500 ms. Sessions tracked through
+     * DevTools (see {@link NetworkPolicy}) use real request events; others fall back to resource timing entries,
+     * which do not see requests that are still open.
+     */
+    public static PageReadiness networkIdle() {
+        return new PageReadiness("network idle", driver -> NetworkPolicy.isTracked(driver)
+                ? NetworkPolicy.isNetworkIdle(driver, NETWORK_QUIET_PERIOD, NETWORK_IDLE_MAX_IN_FLIGHT)
+                : Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(
+                        RESOURCE_IDLE_SCRIPT, NETWORK_QUIET_PERIOD.toMillis())));
+    }
+
+    /**
+     * Ready when both this and the other condition hold. Conditions are checked in order.
+     */
+    public PageReadiness and(PageReadiness other) {
+        return new PageReadiness(description + " and " + other.description,
+                driver -> condition.test(driver) && other.condition.test(driver));
+    }
+
+    /**
+     * Checks this condition only when page-load-strategy is eager or none; with normal it holds at once, since
+     * driver.get already waited for the load event. The strategy is read on every check, so reloads apply.
+     */
+    public PageReadiness onlyWithEarlyPageLoad() {
+        return new PageReadiness(description + " (eager/none only)",
+                driver -> getPageLoadStrategy() == PageLoadStrategy.NORMAL || condition.test(driver));
+    }
+
+    /**
+     * Waits for the condition within the page-ready-timeout.
+     *
+     * @throws org.openqa.selenium.TimeoutException when the page does not become ready in time
+     */
+    public void await(WebDriver driver) {
+        await(driver, SmartWait.getPageReadyTimeout());
+    }
+
+    /**
+     * Waits for the condition within the given timeout.
+     *
+     * @throws org.openqa.selenium.TimeoutException when the page does not become ready in time
+     */
+    public void await(WebDriver driver, Duration timeout) {
+        long start = System.nanoTime();
+        SmartWait.until(driver, timeout, wd -> condition.test(wd) ? Boolean.TRUE : null);
+        logger.debug("Page ready ({}) after {} ms.", description, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Gets the page-load-strategy setting: normal, eager or none. Defaults to normal.
+     */
+    public static PageLoadStrategy getPageLoadStrategy() {
+        return ConfigReader.snapshot().getEnum("page-load-strategy", PageLoadStrategy.class, PageLoadStrategy.NORMAL);
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
@@ -1,28 +1,251 @@
 package com.brighthorizon.test.automation.framework.utils.selenium;
 
-import org.apache.commons.io.FileUtils;
+import com.brighthorizon.test.automation.framework.config.ConfigReader;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 
-import java.io.File;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Captures a screenshot once and hands encoding and the disk write to a background executor.
+ * The captured PNG bytes are returned right away for report attachments. Identical frames are stored once,
+ * and screenshot-scale / screenshot-format can shrink the stored files. Only the paths of the last
+ * screenshot-dedup-frames distinct frames are remembered for that; frame bytes are never kept.
+ */
 public class ScreenshotUtils {
     private static final Logger logger = LogManager.getLogger(ScreenshotUtils.class);
+    private static final AtomicLong sequence = new AtomicLong();
+    // SHA-256 of the captured PNG to where it is stored, least recently captured dropped first
+    private static final Map<String, StoredFrame> storedFrames = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, StoredFrame> eldest) {
+                    return size() > getIntSetting("screenshot-dedup-frames", 1000);
+                }
+            });
+    private static final Set<CompletableFuture<String>> pendingWrites = ConcurrentHashMap.newKeySet();
+    private static volatile ExecutorService writer;
+
+    private static final class StoredFrame {
+        private final String path;
+        private final CompletableFuture<String> stored;
+
+        private StoredFrame(String path, CompletableFuture<String> stored) {
+            this.path = path;
+            this.stored = stored;
+        }
+    }
+
+    /**
+     * A captured frame: its PNG bytes are available at once, its file once the background write completes.
+     */
+    public static final class Screenshot {
+        private final byte[] png;
+        private final String path;
+        private final CompletableFuture<String> stored;
+
+        private Screenshot(byte[] png, String path, CompletableFuture<String> stored) {
+            this.png = png;
+            this.path = path;
+            this.stored = stored;
+        }
+
+        /**
+         * Gets the PNG bytes as captured, e.g. for a Cucumber or Allure attachment.
+         */
+        public byte[] getBytes() {
+            return png;
+        }
+
+        /**
+         * Gets the path the frame is (being) written to. For a duplicate frame this is the earlier file.
+         */
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * Completes with the path once the file is on disk.
+         */
+        public CompletableFuture<String> getStored() {
+            return stored;
+        }
+    }
+
+    /**
+     * Takes a screenshot and queues it for storage under a unique name.
+     *
+     * @param screenshotName name prefix; thread id and a sequence number are appended
+     */
+    public static Screenshot capture(WebDriver driver, String screenshotName) {
+        byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        String hash = sha256(png);
+        StoredFrame duplicate = storedFrames.get(hash);
+        if (duplicate != null) {
+            logger.info("Screenshot identical to {}; not stored again.", duplicate.path);
+            return new Screenshot(png, duplicate.path, duplicate.stored);
+        }
+
+        String format = getFormat();
+        String fileName = screenshotName.replaceAll("[^\\w.-]+", "_")
+                + "_t" + Thread.currentThread().getId() + "_" + sequence.incrementAndGet() + "." + format;
+        String destination = Paths.get(getDirectory(), fileName).toString();
+        CompletableFuture<String> stored = new CompletableFuture<>();
+        StoredFrame earlier = storedFrames.putIfAbsent(hash, new StoredFrame(destination, stored));
+        if (earlier != null) {
+            return new Screenshot(png, earlier.path, earlier.stored);
+        }
+
+        pendingWrites.add(stored);
+        stored.whenComplete((path, error) -> pendingWrites.remove(stored));
+        getWriter().execute(() -> {
+            try {
+                Path target = Paths.get(destination);
+                Files.createDirectories(target.getParent());
+                Files.write(target, encode(png, format));
+                logger.info("Screenshot saved: {}", destination);
+                stored.complete(destination);
+            } catch (IOException | RuntimeException e) {
+                logger.error("Failed to save screenshot {}: {}", destination, e.getMessage());
+                stored.completeExceptionally(e);
+            }
+        });
+        return new Screenshot(png, destination, stored);
+    }
+
+    /**
+     * Takes a screenshot and returns the path it is written to. The write itself happens in the background.
+     */
     public static String captureScreenshot(WebDriver driver, String screenshotName) {
-        TakesScreenshot ts = (TakesScreenshot) driver;
-        File source = ts.getScreenshotAs(OutputType.FILE);
-        String destination = "screenshots/" + screenshotName + ".png";
+        return capture(driver, screenshotName).getPath();
+    }
+
+    /**
+     * Waits for queued screenshot writes to finish. Call at the end of the suite.
+     */
+    public static void awaitPendingWrites() {
+        ExecutorService current = writer;
+        if (current == null) {
+            return;
+        }
+        CompletableFuture<?>[] pending = pendingWrites.toArray(CompletableFuture[]::new);
         try {
-            FileUtils.copyFile(source, new File(destination));
-            logger.info("Screenshot saved: " + destination);
-        } catch (IOException e) {
-            e.printStackTrace();
-            throw new RuntimeException("Failed to save screenshot.");
+            CompletableFuture.allOf(pending).get(60, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            logger.warn("Not all screenshots were written: {}", e.getMessage());
         }
-        return destination;
+    }
+
+    private static byte[] encode(byte[] png, String format) throws IOException {
+        double scale = getScale();
+        if (scale >= 1.0 && "png".equals(format)) {
+            return png;
+        }
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * Math.min(scale, 1.0)));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * Math.min(scale, 1.0)));
+        // JPEG has no alpha channel
+        BufferedImage output = new BufferedImage(width, height, "png".equals(format) ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = output.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageWriter imageWriter = ImageIO.getImageWritersByFormatName("png".equals(format) ? "png" : "jpeg").next();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(bytes)) {
+            imageWriter.setOutput(stream);
+            ImageWriteParam param = imageWriter.getDefaultWriteParam();
+            if (!"png".equals(format)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(getJpegQuality());
+            }
+            imageWriter.write(null, new IIOImage(output, null, null), param);
+        } finally {
+            imageWriter.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ExecutorService getWriter() {
+        if (writer == null) {
+            synchronized (ScreenshotUtils.class) {
+                if (writer == null) {
+                    AtomicInteger threadNumber = new AtomicInteger();
+                    writer = Executors.newFixedThreadPool(getIntSetting("screenshot-writer-threads", 2), runnable -> {
+                        Thread thread = new Thread(runnable, "screenshot-writer-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    Runtime.getRuntime().addShutdownHook(new Thread(ScreenshotUtils::awaitPendingWrites, "screenshot-flush"));
+                }
+            }
+        }
+        return writer;
+    }
+
+    private static String getDirectory() {
+        String value = ConfigReader.getGlobal("screenshot-dir");
+        return value == null || value.isBlank() ? "screenshots" : value.trim();
+    }
+
+    private static String getFormat() {
+        String value = ConfigReader.getGlobal("screenshot-format");
+        return value != null && value.trim().toLowerCase().matches("jpe?g") ? "jpg" : "png";
+    }
+
+    private static double getScale() {
+        String value = ConfigReader.getGlobal("screenshot-scale");
+        return value == null || value.isBlank() ? 1.0 : Double.parseDouble(value.trim());
+    }
+
+    private static float getJpegQuality() {
+        String value = ConfigReader.getGlobal("screenshot-jpeg-quality");
+        return value == null || value.isBlank() ? 0.8f : Float.parseFloat(value.trim());
+    }
+
+    private static int getIntSetting(String key, int defaultValue) {
+        return ConfigReader.snapshot().getInt(key, defaultValue);
     }
 }
@@ -0,0 +1,276 @@
+package com.brighthorizon.test.automation.framework.utils.selenium;
+
+import com.brighthorizon.test.automation.framework.config.ConfigReader;
+import com.brighthorizon.test.automation.framework.utils.misc.LatencyBudget;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Single wait engine for element and page conditions. Element readiness is checked with one script call per poll,
+ * polling starts fast and backs off, and timeouts are parsed once from the configuration.
+ */
+public class SmartWait {
+
+    private static final Logger logger = LogManager.getLogger(SmartWait.class);
+    private static final long INITIAL_POLL_MILLIS = 50;
+    private static final long MAX_POLL_MILLIS = 500;
+    private static final String READY = "ready";
+
+    // Returns "ready" or the reason the element is not ready yet, in a single round trip
+    private static final String READINESS_SCRIPT =
+            "var el = arguments[0], clickable = arguments[1];" +
+            "if (!el.isConnected) return 'detached';" +
+            "var style = window.getComputedStyle(el), rect = el.getBoundingClientRect();" +
+            "if (style.display === 'none' || style.visibility === 'hidden' || parseFloat(style.opacity) === 0" +
+            "    || rect.width === 0 || rect.height === 0) return 'hidden';" +
+            "if (!clickable) return 'ready';" +
+            "if (el.disabled || el.getAttribute('aria-disabled') === 'true') return 'disabled';" +
+            "if (rect.bottom < 0 || rect.right < 0 || rect.top > window.innerHeight || rect.left > window.innerWidth) {" +
+            "    el.scrollIntoView({block: 'center', inline: 'center'}); rect = el.getBoundingClientRect(); }" +
+            "var top = document.elementFromPoint(rect.left + rect.width / 2, rect.top + rect.height / 2);" +
+            "if (top && top !== el && !el.contains(top) && !top.contains(el))" +
+            "    return 'obscured by <' + top.tagName.toLowerCase() + (top.id ? '#' + top.id : '') + '>';" +
+            "return 'ready';";
+
+    private static volatile Duration visibilityTimeout;
+    private static volatile Duration clickableTimeout;
+    private static volatile Duration pageReadyTimeout;
+    private static volatile Duration fastNegativeTimeout;
+    private static volatile Duration implicitWait;
+
+    static {
+        ConfigReader.addChangeListener((previous, current, changedKeys) -> reloadTimeouts());
+    }
+
+    /**
+     * Waits until the element is visible, enabled and not covered by another element.
+     *
+     * @throws TimeoutException with the last observed state when the element-clickable-timeout expires
+     */
+    public static void waitForClickable(WebElement element, WebDriver driver) {
+        waitForState(element, driver, true, getClickableTimeout());
+    }
+
+    /**
+     * Waits until the element is attached and rendered with a non-empty box.
+     *
+     * @throws TimeoutException with the last observed state when the element-visibility-timeout expires
+     */
+    public static void waitForVisible(WebElement element, WebDriver driver) {
+        waitForState(element, driver, false, getVisibilityTimeout());
+    }
+
+    /**
+     * Waits until at least one element matches the locator.
+     *
+     * @return the matching elements, or an empty list when none appeared within the element-visibility-timeout
+     */
+    public static List<WebElement> waitForElements(WebDriver driver, By locator) {
+        try {
+            return until(driver, getVisibilityTimeout(), wd -> {
+                List<WebElement> elements = findElements(wd, locator);
+                return elements.isEmpty() ? null : elements;
+            });
+        } catch (TimeoutException e) {
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Fast-negative variant of {@link #waitForElements} for elements that are often absent, such as a consent banner.
+     * Waits at most fast-negative-timeout-ms, suspends a configured implicit wait meanwhile, and books the time
+     * as an expected absence rather than a timeout.
+     *
+     * @return the matching elements, or an empty list when none appeared in time
+     */
+    public static List<WebElement> waitForOptionalElements(WebDriver driver, By locator) {
+        long implicitWaitMillis = getImplicitWait().toMillis();
+        if (implicitWaitMillis > 0) {
+            driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        }
+        try {
+            return poll(driver, getFastNegativeTimeout(), wd -> {
+                List<WebElement> elements = wd.findElements(locator);
+                return elements.isEmpty() ? null : elements;
+            }, LatencyBudget.Category.FAST_NEGATIVE);
+        } catch (TimeoutException e) {
+            return Collections.emptyList();
+        } finally {
+            if (implicitWaitMillis > 0) {
+                driver.manage().timeouts().implicitlyWait(Duration.ofMillis(implicitWaitMillis));
+            }
+        }
+    }
+
+    /**
+     * Waits until an element matching the locator exists inside the given context.
+     *
+     * @param context the page or a parent element
+     * @throws TimeoutException when no element appeared within the element-visibility-timeout
+     */
+    public static WebElement waitForElement(WebDriver driver, SearchContext context, By locator) {
+        return until(driver, getVisibilityTimeout(), wd -> {
+            List<WebElement> elements = findElements(context, locator);
+            return elements.isEmpty() ? null : elements.get(0);
+        });
+    }
+
+    /**
+     * Polls a condition with adaptive intervals until it returns a value other than null or false.
+     * Missing and stale elements count as "not yet".
+     *
+     * @param condition evaluated against the driver, e.g. an ExpectedConditions instance
+     * @return the condition's value
+     * @throws TimeoutException when the condition is not met in time
+     */
+    public static <T> T until(WebDriver driver, Duration timeout, Function<? super WebDriver, T> condition) {
+        return poll(driver, timeout, condition, LatencyBudget.Category.EXPLICIT_WAIT_TIMEOUT);
+    }
+
+    private static <T> T poll(WebDriver driver, Duration timeout, Function<? super WebDriver, T> condition,
+                              LatencyBudget.Category timeoutCategory) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long implicitExpiryBefore = LatencyBudget.recordedNanos(LatencyBudget.Category.IMPLICIT_WAIT_EXPIRY);
+        long pollMillis = INITIAL_POLL_MILLIS;
+        RuntimeException lastError = null;
+        while (true) {
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    return value;
+                }
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                lastError = e;
+            }
+
+            long remainingMillis = Duration.ofNanos(deadline - System.nanoTime()).toMillis();
+            if (remainingMillis <= 0) {
+                // Implicit waits that expired inside this wait are already booked
+                long implicitExpiry = LatencyBudget.recordedNanos(LatencyBudget.Category.IMPLICIT_WAIT_EXPIRY) - implicitExpiryBefore;
+                LatencyBudget.record(timeoutCategory, System.nanoTime() - start - implicitExpiry);
+                throw new TimeoutException("Condition not met within " + timeout.toMillis() + " ms: " + condition, lastError);
+            }
+            sleep(Math.min(pollMillis, remainingMillis));
+            pollMillis = Math.min(MAX_POLL_MILLIS, pollMillis * 3 / 2);
+        }
+    }
+
+    /**
+     * Gets the element-visibility-timeout, parsed once.
+     */
+    public static Duration getVisibilityTimeout() {
+        if (visibilityTimeout == null) {
+            visibilityTimeout = parseSeconds("element-visibility-timeout", 10);
+        }
+        return visibilityTimeout;
+    }
+
+    /**
+     * Gets the element-clickable-timeout, parsed once.
+     */
+    public static Duration getClickableTimeout() {
+        if (clickableTimeout == null) {
+            clickableTimeout = parseSeconds("element-clickable-timeout", 20);
+        }
+        return clickableTimeout;
+    }
+
+    /**
+     * Gets the page-ready-timeout used by {@link PageReadiness}, parsed once.
+     */
+    public static Duration getPageReadyTimeout() {
+        if (pageReadyTimeout == null) {
+            pageReadyTimeout = parseSeconds("page-ready-timeout", 30);
+        }
+        return pageReadyTimeout;
+    }
+
+    /**
+     * Gets the fast-negative-timeout-ms used by {@link #waitForOptionalElements}, parsed once.
+     */
+    public static Duration getFastNegativeTimeout() {
+        if (fastNegativeTimeout == null) {
+            fastNegativeTimeout = ConfigReader.snapshot().getMillis("fast-negative-timeout-ms", 2000);
+        }
+        return fastNegativeTimeout;
+    }
+
+    /**
+     * Drops the cached timeouts so the next wait reads them from the configuration again.
+     */
+    public static void reloadTimeouts() {
+        visibilityTimeout = null;
+        clickableTimeout = null;
+        pageReadyTimeout = null;
+        fastNegativeTimeout = null;
+        implicitWait = null;
+    }
+
+    // An empty result that took the whole implicit wait is dead time the caller did not ask for
+    private static List<WebElement> findElements(SearchContext context, By locator) {
+        long start = System.nanoTime();
+        List<WebElement> elements = context.findElements(locator);
+        long elapsed = System.nanoTime() - start;
+        long implicitWaitNanos = getImplicitWait().toNanos();
+        if (elements.isEmpty() && implicitWaitNanos > 0 && elapsed >= implicitWaitNanos) {
+            LatencyBudget.record(LatencyBudget.Category.IMPLICIT_WAIT_EXPIRY, elapsed);
+        }
+        return elements;
+    }
+
+    // Mirrors the implicit-wait-ms that DriverManager sets on new sessions
+    private static Duration getImplicitWait() {
+        if (implicitWait == null) {
+            implicitWait = ConfigReader.snapshot().getMillis("implicit-wait-ms", 0);
+        }
+        return implicitWait;
+    }
+
+    private static void waitForState(WebElement element, WebDriver driver, boolean clickable, Duration timeout) {
+        String[] lastState = {"not found"};
+        try {
+            until(driver, timeout, wd -> {
+                try {
+                    lastState[0] = String.valueOf(((JavascriptExecutor) wd).executeScript(READINESS_SCRIPT, element, clickable));
+                } catch (StaleElementReferenceException e) {
+                    lastState[0] = "stale";
+                    CachingFieldDecorator.invalidate(element);
+                    throw e;
+                }
+                return READY.equals(lastState[0]);
+            });
+        } catch (TimeoutException e) {
+            String expected = clickable ? "clickable" : "visible";
+            logger.error("Element did not become {} within {} ms (last state: {})", expected, timeout.toMillis(), lastState[0]);
+            throw new TimeoutException("Element did not become " + expected + " within " + timeout.toMillis()
+                    + " ms (last state: " + lastState[0] + "): " + element, e);
+        }
+    }
+
+    private static Duration parseSeconds(String key, long defaultSeconds) {
+        return ConfigReader.snapshot().getSeconds(key, defaultSeconds);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting", e);
+        }
+    }
+}
@@ -3,29 +3,24 @@ package com.brighthorizon.test.automation.framework.utils.selenium;
 
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
 
 public class WaitUtils {
 
     public static void waitForElementVisible(WebDriver driver, WebElement element, int timeoutInSeconds) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
-        wait.until(ExpectedConditions.visibilityOf(element));
+        SmartWait.until(driver, Duration.ofSeconds(timeoutInSeconds), ExpectedConditions.visibilityOf(element));
     }
 
     public static void waitForElementClickable(WebDriver driver, WebElement element, int timeoutInSeconds) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
-        wait.until(ExpectedConditions.elementToBeClickable(element));
+        SmartWait.until(driver, Duration.ofSeconds(timeoutInSeconds), ExpectedConditions.elementToBeClickable(element));
     }
 
     public static boolean waitForElementInvisible(WebDriver driver, By locator, int timeoutInSeconds) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
-        return wait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
+        return SmartWait.until(driver, Duration.ofSeconds(timeoutInSeconds), ExpectedConditions.invisibilityOfElementLocated(locator));
     }
 
     public static void waitForPageTitle(WebDriver driver, String title, int timeoutInSeconds) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
-        wait.until(ExpectedConditions.titleIs(title));
+        SmartWait.until(driver, Duration.ofSeconds(timeoutInSeconds), ExpectedConditions.titleIs(title));
     }
 }
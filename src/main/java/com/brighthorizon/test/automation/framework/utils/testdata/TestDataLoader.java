@@ -1,22 +1,59 @@
 package com.brighthorizon.test.automation.framework.utils.testdata;
 
 import com.brighthorizon.test.automation.framework.config.ConfigReader;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Reads scenario data files shaped as {"positive": [...], "negative": [...]}. Parsed files are cached by path and
+ * modification time and indexed by scenario type; files above test-data-stream-threshold-kb are streamed, so
+ * positive[N] reads only the first N records and all_positive skips the other types.
+ * Returned lists and rows are shared with the cache and cannot be modified.
+ */
 public class TestDataLoader {
 
     private static final String BASE_PATH = "src/test/resources/test-data/";
     private static final String PLATFORM = ConfigReader.get("platform"); // Example: web
     private static final String APPLICATION = ConfigReader.get("application.name"); // Example: facebook
     private static final Logger logger = LogManager.getLogger(TestDataLoader.class);
+    // Thread-safe once configured; shared by every read
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> ROW_TYPE = new TypeReference<>() {};
+    private static final TypeReference<Map<String, List<Map<String, Object>>>> FILE_TYPE = new TypeReference<>() {};
+    private static final Map<Path, CachedFile> cache = new ConcurrentHashMap<>();
+
+    // Scenarios of one file version; types are added as they are read, all at once when the whole file is parsed
+    private static final class CachedFile {
+        private final long lastModified;
+        private final long length;
+        private final Map<String, List<Map<String, Object>>> scenariosByType = new ConcurrentHashMap<>();
+        private volatile Map<String, List<Map<String, Object>>> allTypes;
+
+        private CachedFile(long lastModified, long length) {
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+    }
+
     /**
      * Dynamically constructs the folder path for test data.
      *
@@ -28,6 +65,10 @@ public class TestDataLoader {
         return BASE_PATH + PLATFORM + File.separator + APPLICATION + File.separator + moduleName + File.separator + subModuleName;
     }
 
+    private static Path getFile(String moduleName, String subModuleName) {
+        return Paths.get(getFolderPath(moduleName, subModuleName) + ".json");
+    }
+
     /**
      * Reads the entire JSON file for a module and submodule.
      *
@@ -36,18 +77,33 @@ public class TestDataLoader {
      * @return A Map representing the JSON content.
      */
     public static Map<String, List<Map<String, Object>>> readTestData(String moduleName, String subModuleName) {
-        String folderPath = getFolderPath(moduleName, subModuleName);
-        String filePath = folderPath + ".json";
-        ObjectMapper mapper = new ObjectMapper();
-
-        // Debug log to verify the constructed file path
-        logger.info("Loading test data from: " + filePath);
+        return readTestData(getFile(moduleName, subModuleName));
+    }
 
-        try {
-            return mapper.readValue(new File(filePath), new TypeReference<>() {});
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to read test data from: " + filePath, e);
+    /**
+     * Reads a whole test data file, from the cache when it has not changed since it was parsed.
+     *
+     * @param file the JSON file
+     * @return the scenarios of every type
+     */
+    public static Map<String, List<Map<String, Object>>> readTestData(Path file) {
+        CachedFile cached = getCachedFile(file);
+        Map<String, List<Map<String, Object>>> allTypes = cached.allTypes;
+        if (allTypes == null) {
+            logger.info("Loading test data from: {}", file);
+            Map<String, List<Map<String, Object>>> parsed;
+            try {
+                parsed = mapper.readValue(file.toFile(), FILE_TYPE);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to read test data from: " + file, e);
+            }
+            Map<String, List<Map<String, Object>>> index = new LinkedHashMap<>();
+            parsed.forEach((type, rows) -> index.put(type, freeze(rows)));
+            cached.scenariosByType.putAll(index);
+            allTypes = Collections.unmodifiableMap(index);
+            cached.allTypes = allTypes;
         }
+        return allTypes;
     }
 
     /**
@@ -59,13 +115,33 @@ public class TestDataLoader {
      * @return A List of Maps representing all scenarios for the given type.
      */
     public static List<Map<String, Object>> readAllScenarios(String moduleName, String subModuleName, String type) {
-        Map<String, List<Map<String, Object>>> testData = readTestData(moduleName, subModuleName);
+        return readAllScenarios(getFile(moduleName, subModuleName), type);
+    }
 
-        if (!testData.containsKey(type)) {
+    /**
+     * Fetches all scenarios of one type from a test data file.
+     *
+     * @param file the JSON file
+     * @param type Type of scenario (positive or negative).
+     * @return the scenarios of the type
+     */
+    public static List<Map<String, Object>> readAllScenarios(Path file, String type) {
+        CachedFile cached = getCachedFile(file);
+        List<Map<String, Object>> scenarios = cached.scenariosByType.get(type);
+        if (scenarios == null) {
+            if (cached.allTypes != null || !isLarge(cached)) {
+                scenarios = readTestData(file).get(type);
+            } else {
+                scenarios = streamScenarios(file, type, Integer.MAX_VALUE);
+                if (scenarios != null) {
+                    cached.scenariosByType.put(type, scenarios);
+                }
+            }
+        }
+        if (scenarios == null) {
             throw new RuntimeException("Invalid scenario type: " + type);
         }
-
-        return testData.get(type);
+        return scenarios;
     }
 
     /**
@@ -77,20 +153,217 @@ public class TestDataLoader {
      * @return A List of Maps representing the requested test data.
      */
     public static List<Map<String, Object>> getTestData(String moduleName, String subModuleName, String reference) {
-        Map<String, List<Map<String, Object>>> testData = readTestData(moduleName, subModuleName);
+        return getTestData(getFile(moduleName, subModuleName), reference);
+    }
 
+    /**
+     * Fetches test data from a file by reference (e.g., positive[1], all_positive, negative[3]).
+     *
+     * @param file      the JSON file
+     * @param reference Data reference (e.g., positive[1], all_positive, negative[3]).
+     * @return the requested scenarios
+     */
+    public static List<Map<String, Object>> getTestData(Path file, String reference) {
         if (reference.startsWith("all_positive")) {
-            return readAllScenarios(moduleName, subModuleName, "positive");
+            return readAllScenarios(file, "positive");
         } else if (reference.startsWith("all_negative")) {
-            return readAllScenarios(moduleName, subModuleName, "negative");
+            return readAllScenarios(file, "negative");
         } else if (reference.startsWith("positive[") || reference.startsWith("negative[")) {
             String[] parts = reference.replace("]", "").split("\\[");
             String type = parts[0]; // positive or negative
             int count = Integer.parseInt(parts[1]); // Number of scenarios to fetch
 
-            return testData.get(type).subList(0, Math.min(count, testData.get(type).size()));
+            CachedFile cached = getCachedFile(file);
+            List<Map<String, Object>> scenarios = cached.scenariosByType.get(type);
+            if (scenarios == null && isLarge(cached)) {
+                // Only the first records are needed; stop reading there
+                scenarios = streamScenarios(file, type, count);
+                if (scenarios == null) {
+                    throw new RuntimeException("Invalid scenario type: " + type);
+                }
+                return scenarios;
+            }
+            if (scenarios == null) {
+                scenarios = readAllScenarios(file, type);
+            }
+            return scenarios.subList(0, Math.min(count, scenarios.size()));
+        } else {
+            throw new RuntimeException("Invalid reference: " + reference);
+        }
+    }
+
+    /**
+     * Iterates the scenarios of a reference (e.g., positive[1], all_positive, negative[3]) without holding them all
+     * in memory. Files already in the cache are served from it; others are read record by record.
+     *
+     * @param moduleName    Module name (e.g., auth).
+     * @param subModuleName Submodule name (e.g., login).
+     * @param reference     Data reference (e.g., positive[1], all_positive, negative[3]).
+     * @return the scenarios in file order
+     */
+    public static Iterator<Map<String, Object>> iterateTestData(String moduleName, String subModuleName, String reference) {
+        return iterateTestData(getFile(moduleName, subModuleName), reference);
+    }
+
+    /**
+     * Iterates the scenarios of a reference in a test data file without holding them all in memory.
+     *
+     * @param file      the JSON file
+     * @param reference Data reference (e.g., positive[1], all_positive, negative[3]).
+     * @return the scenarios in file order
+     */
+    public static Iterator<Map<String, Object>> iterateTestData(Path file, String reference) {
+        String type;
+        int count;
+        if (reference.startsWith("all_positive") || reference.startsWith("all_negative")) {
+            type = reference.startsWith("all_positive") ? "positive" : "negative";
+            count = Integer.MAX_VALUE;
+        } else if (reference.startsWith("positive[") || reference.startsWith("negative[")) {
+            String[] parts = reference.replace("]", "").split("\\[");
+            type = parts[0];
+            count = Integer.parseInt(parts[1]);
         } else {
             throw new RuntimeException("Invalid reference: " + reference);
         }
+
+        List<Map<String, Object>> cached = getCachedFile(file).scenariosByType.get(type);
+        if (cached != null) {
+            return cached.subList(0, Math.min(count, cached.size())).iterator();
+        }
+        ScenarioStream stream = ScenarioStream.open(file, type, count);
+        if (stream == null) {
+            throw new RuntimeException("Invalid scenario type: " + type);
+        }
+        return stream;
+    }
+
+    /**
+     * Drops every cached file, e.g. after data files were regenerated within the same second.
+     */
+    public static void clearCache() {
+        cache.clear();
+    }
+
+    private static CachedFile getCachedFile(Path file) {
+        long lastModified;
+        long length;
+        try {
+            lastModified = Files.getLastModifiedTime(file).toMillis();
+            length = Files.size(file);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read test data from: " + file, e);
+        }
+        return cache.compute(file.toAbsolutePath().normalize(), (path, cached) ->
+                cached != null && cached.lastModified == lastModified && cached.length == length
+                        ? cached : new CachedFile(lastModified, length));
+    }
+
+    private static boolean isLarge(CachedFile cached) {
+        return cached.length > ConfigReader.snapshot().getLong("test-data-stream-threshold-kb", 1024) * 1024;
+    }
+
+    // Returns null when the file has no array for the type
+    private static List<Map<String, Object>> streamScenarios(Path file, String type, int limit) {
+        logger.info("Streaming up to {} {} scenario(s) from: {}", limit == Integer.MAX_VALUE ? "all" : limit, type, file);
+        ScenarioStream stream = ScenarioStream.open(file, type, limit);
+        if (stream == null) {
+            return null;
+        }
+        List<Map<String, Object>> rows = new ArrayList<>();
+        stream.forEachRemaining(rows::add);
+        return Collections.unmodifiableList(rows);
+    }
+
+    /**
+     * Reads the scenarios of one type record by record from an open parser and closes it after the last one.
+     */
+    private static final class ScenarioStream implements Iterator<Map<String, Object>>, Closeable {
+        private final Path file;
+        private final JsonParser parser;
+        private final int limit;
+        private int read;
+        private boolean hasNext;
+
+        private ScenarioStream(Path file, JsonParser parser, int limit) throws IOException {
+            this.file = file;
+            this.parser = parser;
+            this.limit = limit;
+            advance();
+        }
+
+        // Returns null when the file has no array for the type
+        private static ScenarioStream open(Path file, String type, int limit) {
+            JsonParser parser = null;
+            try {
+                parser = mapper.getFactory().createParser(file.toFile());
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    parser.close();
+                    throw new RuntimeException("Test data must be a JSON object of scenario types: " + file);
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.getCurrentName();
+                    JsonToken value = parser.nextToken();
+                    if (type.equals(name) && value == JsonToken.START_ARRAY) {
+                        return new ScenarioStream(file, parser, limit);
+                    }
+                    parser.skipChildren();
+                }
+                parser.close();
+                return null;
+            } catch (IOException e) {
+                closeQuietly(parser);
+                throw new RuntimeException("Failed to read test data from: " + file, e);
+            }
+        }
+
+        private void advance() throws IOException {
+            hasNext = read < limit && parser.nextToken() == JsonToken.START_OBJECT;
+            if (!hasNext) {
+                close();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public Map<String, Object> next() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+            try {
+                Map<String, Object> row = Collections.unmodifiableMap(mapper.readValue(parser, ROW_TYPE));
+                read++;
+                advance();
+                return row;
+            } catch (IOException e) {
+                close();
+                throw new RuntimeException("Failed to read test data from: " + file, e);
+            }
+        }
+
+        @Override
+        public void close() {
+            hasNext = false;
+            closeQuietly(parser);
+        }
+
+        private static void closeQuietly(JsonParser parser) {
+            try {
+                if (parser != null) {
+                    parser.close();
+                }
+            } catch (IOException e) {
+                logger.warn("Failed to close test data parser: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static List<Map<String, Object>> freeze(List<Map<String, Object>> rows) {
+        List<Map<String, Object>> frozen = new ArrayList<>(rows.size());
+        rows.forEach(row -> frozen.add(Collections.unmodifiableMap(row)));
+        return Collections.unmodifiableList(frozen);
     }
 }
@@ -0,0 +1,187 @@
+package com.brighthorizon.test.automation.framework.utils.testdata;
+
+import com.brighthorizon.test.automation.framework.config.ConfigReader;
+import com.brighthorizon.test.automation.framework.config.ConfigSnapshot;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Feeds scenario rows to a lazy TestNG data provider. A background thread reads ahead into a queue of
+ * test-data-prefetch rows, so tests start with the first row and memory stays bounded by the queue. With
+ * shard.count above 1, only every shard.count-th row starting at shard.index is kept, so forks split the data.
+ * <p>
+ * The reader stops and closes the source rows at the end, on a read error, on {@link #close()}, or once the
+ * consumer dropped the iterator without draining it, e.g. when TestNG aborts the test method.
+ */
+public final class TestDataRows implements Iterator<Object[]>, Closeable {
+
+    private static final Logger logger = LogManager.getLogger(TestDataRows.class);
+    private static final Object END = new Object();
+    private static final AtomicInteger threadNumber = new AtomicInteger();
+    // How often a reader waiting for room in the queue checks whether the rows were abandoned
+    private static final long ABANDON_CHECK_MILLIS = 500;
+
+    private final BlockingQueue<Object> queue;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private Object lookahead;
+
+    private static final class Failure {
+        private final RuntimeException error;
+
+        private Failure(RuntimeException error) {
+            this.error = error;
+        }
+    }
+
+    private TestDataRows(Iterator<Map<String, Object>> rows, int shardIndex, int shardCount, int prefetch) {
+        this.queue = new ArrayBlockingQueue<>(prefetch);
+        // The reader only holds a weak reference, so an iterator nobody drains can be collected and the reader stop
+        Reader reader = new Reader(rows, shardIndex, shardCount, queue, closed, new WeakReference<>(this));
+        Thread thread = new Thread(reader, "test-data-prefetch-" + threadNumber.incrementAndGet());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Wraps scenario rows as one-argument data provider rows, applying the shard and prefetch settings.
+     *
+     * @param rows scenarios, e.g. from {@link TestDataLoader#iterateTestData}; closed when done if they are closeable
+     * @return rows of {scenario map} for TestNG
+     */
+    public static TestDataRows of(Iterator<Map<String, Object>> rows) {
+        ConfigSnapshot config = ConfigReader.snapshot();
+        int shardCount = config.getInt("shard.count", 1);
+        int shardIndex = config.getInt("shard.index", 0);
+        if (shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException("shard.index must be between 0 and shard.count - 1, got shard "
+                    + shardIndex + " of " + shardCount);
+        }
+        return new TestDataRows(rows, shardIndex, shardCount, Math.max(1, config.getInt("test-data-prefetch", 64)));
+    }
+
+    private static final class Reader implements Runnable {
+        private final Iterator<Map<String, Object>> rows;
+        private final int shardIndex;
+        private final int shardCount;
+        private final BlockingQueue<Object> queue;
+        private final AtomicBoolean closed;
+        private final WeakReference<TestDataRows> owner;
+
+        private Reader(Iterator<Map<String, Object>> rows, int shardIndex, int shardCount, BlockingQueue<Object> queue,
+                       AtomicBoolean closed, WeakReference<TestDataRows> owner) {
+            this.rows = rows;
+            this.shardIndex = shardIndex;
+            this.shardCount = shardCount;
+            this.queue = queue;
+            this.closed = closed;
+            this.owner = owner;
+        }
+
+        @Override
+        public void run() {
+            int index = 0;
+            int kept = 0;
+            try {
+                while (!closed.get() && rows.hasNext()) {
+                    Map<String, Object> row = rows.next();
+                    if (index++ % shardCount == shardIndex) {
+                        if (!put(new Object[]{row})) {
+                            return;
+                        }
+                        kept++;
+                    }
+                }
+                if (shardCount > 1) {
+                    logger.info("Shard {} of {} took {} of {} test data row(s).", shardIndex, shardCount, kept, index);
+                }
+                put(END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                try {
+                    put(new Failure(e));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            } finally {
+                closeSource();
+            }
+        }
+
+        // Returns false when the consumer closed or dropped the rows while the queue was full
+        private boolean put(Object item) throws InterruptedException {
+            while (!closed.get()) {
+                if (queue.offer(item, ABANDON_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+                if (owner.get() == null) {
+                    logger.info("Test data rows were abandoned; stopping {}.", Thread.currentThread().getName());
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        private void closeSource() {
+            if (rows instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) rows).close();
+                } catch (Exception e) {
+                    logger.warn("Failed to close test data rows: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized boolean hasNext() {
+        if (closed.get()) {
+            return false;
+        }
+        if (lookahead == null) {
+            try {
+                lookahead = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for test data", e);
+            }
+        }
+        if (lookahead instanceof Failure) {
+            throw ((Failure) lookahead).error;
+        }
+        return lookahead != END;
+    }
+
+    @Override
+    public synchronized Object[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Object[] row = (Object[]) lookahead;
+        lookahead = null;
+        return row;
+    }
+
+    /**
+     * Stops reading ahead and drops the queued rows. The reader closes the source rows when it exits.
+     */
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            queue.clear();
+            // Wakes a consumer waiting in hasNext; the reader puts nothing more once closed
+            queue.offer(END);
+        }
+    }
+}
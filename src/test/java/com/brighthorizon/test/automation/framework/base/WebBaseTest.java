@@ -3,18 +3,22 @@ package com.brighthorizon.test.automation.framework.base;
 import com.brighthorizon.test.automation.framework.core.DriverManager;
 import com.brighthorizon.test.automation.framework.config.ConfigReader;
 import com.brighthorizon.test.automation.framework.utils.exception.ExceptionHandler;
+import com.brighthorizon.test.automation.framework.reporting.ReportManager;
 import com.brighthorizon.test.automation.framework.reporting.ReportSetup;
+import com.brighthorizon.test.automation.framework.utils.selenium.ScreenshotUtils;
 import com.brighthorizon.test.automation.framework.utils.testdata.TestDataLoader;
+import com.brighthorizon.test.automation.framework.utils.testdata.TestDataRows;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import java.lang.reflect.Method;
-import java.util.List;
+import java.util.Iterator;
 import java.util.Map;
 
 import static com.brighthorizon.test.automation.framework.reporting.ReportManager.log;
@@ -22,11 +26,19 @@ import static com.brighthorizon.test.automation.framework.reporting.ReportManage
 
 public class WebBaseTest {
 
-    protected WebDriver driver;
     private static final Logger logger = LogManager.getLogger(WebBaseTest.class);
 
+    /**
+     * Gets the driver of the current test thread. One test instance may run on several threads,
+     * so the driver is never kept in a field.
+     */
+    protected WebDriver getDriver() {
+        return DriverManager.getDriver();
+    }
+
     @BeforeMethod
     public void setUp() {
+        WebDriver driver = null;
         try {
             log("Base Test Setup", "Starting test setup", "info");
             logger.info("Starting test setup...");
@@ -60,12 +72,13 @@ public class WebBaseTest {
 
     @AfterMethod
     public void tearDown() {
+        WebDriver driver = getDriver();
         try {
             log("Base Test Teardown", "Starting test teardown", "info");
             logger.info("Starting test teardown...");
 
             if (driver != null) {
-                driver.quit();
+                DriverManager.quitDriver();
                 log("Base Test Teardown", "WebDriver closed successfully", "info");
                 logger.info("WebDriver closed successfully.");
             }
@@ -79,6 +92,13 @@ public class WebBaseTest {
         }
     }
 
+    @AfterSuite(alwaysRun = true)
+    public void tearDownSuite() {
+        DriverManager.shutdown();
+        ReportManager.flush();
+        ScreenshotUtils.awaitPendingWrites();
+    }
+
     private Map<String, String> parseDescription(String description) {
         try {
             String[] parts = description.split(",");
@@ -90,8 +110,13 @@ public class WebBaseTest {
             throw new RuntimeException("Failed to parse test description: " + description, e);
         }
     }
+    /**
+     * Streams the rows of the scenario reference (-Dscenario, default all_positive) to the test. Rows are read
+     * ahead in the background while the previous row runs; -Dshard.index / -Dshard.count split them across forks.
+     * Runs the rows one after another; see {@link #parallelTestDataProvider} for parallel rows.
+     */
     @DataProvider(name = "testDataProvider")
-    public Object[][] testDataProvider(Method method) {
+    public Iterator<Object[]> testDataProvider(Method method) {
         try {
             String description = method.getAnnotation(Test.class).description();
             Map<String, String> parsed = parseDescription(description);
@@ -99,12 +124,20 @@ public class WebBaseTest {
             String subModule = parsed.get("subModule");
             String scenario = System.getProperty("scenario", "all_positive").toLowerCase();
 
-            List<Map<String, Object>> data = TestDataLoader.getTestData(module, subModule, scenario);
-
-            return data.stream().map(d -> new Object[]{d}).toArray(Object[][]::new);
+            return TestDataRows.of(TestDataLoader.iterateTestData(module, subModule, scenario));
         } catch (Exception e) {
             throw new RuntimeException("Failed to load test data", e);
         }
     }
 
+    /**
+     * Same rows as {@link #testDataProvider}, run in parallel on the suite's data-provider-thread-count threads
+     * (10 unless the suite sets it). TestNG 7.7 reads a parallel provider's whole iterator before the first test
+     * starts, so the first row waits for the complete file and every row is held in memory. Use it for small files.
+     */
+    @DataProvider(name = "parallelTestDataProvider", parallel = true)
+    public Iterator<Object[]> parallelTestDataProvider(Method method) {
+        return testDataProvider(method);
+    }
+
 }
@@ -0,0 +1,187 @@
+package com.brighthorizon.test.automation.framework.core;
+
+import com.brighthorizon.test.automation.framework.config.ConfigReader;
+import com.brighthorizon.test.automation.framework.reporting.ReportManager;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the latency of every WebDriver command in lock-free histograms, tagged with browser, platform,
+ * scenario and step, and writes a p50/p95/p99 summary next to the reports at the end of the run.
+ */
+public class CommandMetrics {
+
+    private static final Logger logger = LogManager.getLogger(CommandMetrics.class);
+    private static final String SUMMARY_FILE = "command-metrics.txt";
+    private static final String NO_STEP = "(outside steps)";
+
+    private static final Map<String, Series> byCommand = new ConcurrentHashMap<>();
+    private static final Map<String, Series> byStep = new ConcurrentHashMap<>();
+    private static final Map<String, Series> byScenario = new ConcurrentHashMap<>();
+    private static final ThreadLocal<String> currentScenario = new ThreadLocal<>();
+    private static final ThreadLocal<String> currentStep = new ThreadLocal<>();
+
+    private static class Series {
+        private final Histogram latencyMicros = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+
+        private void record(long nanos, boolean failed) {
+            latencyMicros.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos)));
+            if (failed) {
+                errors.increment();
+            }
+        }
+    }
+
+    /**
+     * Checks whether command-metrics-enabled is set. Read from the current snapshot, so a reload applies to new sessions.
+     */
+    public static boolean isEnabled() {
+        return ConfigReader.snapshot().getBoolean("command-metrics-enabled", false);
+    }
+
+    /**
+     * Sets the scenario that commands on the current thread belong to.
+     *
+     * @param scenario scenario name, or null when the scenario finished
+     */
+    public static void setScenario(String scenario) {
+        currentScenario.set(scenario);
+    }
+
+    /**
+     * Sets the step that commands on the current thread belong to.
+     *
+     * @param step step text, or null when the step finished
+     */
+    public static void setStep(String step) {
+        currentStep.set(step);
+    }
+
+    /**
+     * Wraps a new session so every command it runs is timed. Decorate once, when the session is created,
+     * so the pool and the cloud broker always see the same driver instance.
+     *
+     * @param driver   the new session
+     * @param browser  browser type of the session
+     * @param platform execution platform of the session
+     * @return the decorated driver
+     */
+    static WebDriver decorate(WebDriver driver, String browser, String platform) {
+        return new EventFiringDecorator<>(new TimingListener(browser.toLowerCase() + "/" + platform)).decorate(driver);
+    }
+
+    /**
+     * Records a timing measured outside the decorator, such as the launch of a session.
+     */
+    static void record(String browser, String platform, String command, long nanos) {
+        record(browser.toLowerCase() + "/" + platform, command, nanos, false);
+    }
+
+    /**
+     * Returns the session a decorated driver wraps, or the driver itself.
+     */
+    static WebDriver unwrap(WebDriver driver) {
+        return driver instanceof WrapsDriver ? ((WrapsDriver) driver).getWrappedDriver() : driver;
+    }
+
+    /**
+     * Writes the per-command, per-step and per-scenario summary under {@link ReportManager#getReportPath()}.
+     */
+    public static void writeSummary() {
+        if (byCommand.isEmpty()) {
+            return;
+        }
+        StringBuilder summary = new StringBuilder();
+        appendSection(summary, "Commands (browser/platform command)", byCommand);
+        appendSection(summary, "Steps (browser/platform step)", byStep);
+        appendSection(summary, "Scenarios (browser/platform scenario)", byScenario);
+
+        String summaryFile = ReportManager.getReportPath() + "/" + SUMMARY_FILE;
+        try (Writer writer = new FileWriter(summaryFile)) {
+            writer.write(summary.toString());
+            logger.info("WebDriver command metrics written to {}", summaryFile);
+        } catch (IOException e) {
+            logger.warn("Failed to write command metrics {}: {}", summaryFile, e.getMessage());
+        }
+    }
+
+    private static void record(String target, String command, long nanos, boolean failed) {
+        String step = currentStep.get();
+        String scenario = currentScenario.get();
+        byCommand.computeIfAbsent(target + " " + command, k -> new Series()).record(nanos, failed);
+        // Tagged by target like the commands, so one browser's timings never mix with another's
+        byStep.computeIfAbsent(target + " " + (step == null ? NO_STEP : step), k -> new Series()).record(nanos, failed);
+        if (scenario != null) {
+            byScenario.computeIfAbsent(target + " " + scenario, k -> new Series()).record(nanos, failed);
+        }
+    }
+
+    private static void appendSection(StringBuilder summary, String title, Map<String, Series> series) {
+        summary.append(String.format("%s%n%-70s %8s %8s %10s %10s %10s %10s %12s%n", title,
+                "", "count", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms", "total ms"));
+        new TreeMap<>(series).forEach((key, value) -> {
+            Histogram histogram = value.latencyMicros.copy();
+            summary.append(String.format("%-70s %8d %8d %10.1f %10.1f %10.1f %10.1f %12.1f%n",
+                    key.length() > 70 ? key.substring(0, 67) + "..." : key,
+                    histogram.getTotalCount(), value.errors.sum(),
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(95) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getMaxValue() / 1000.0,
+                    histogram.getMean() * histogram.getTotalCount() / 1000.0));
+        });
+        summary.append(System.lineSeparator());
+    }
+
+    private static class TimingListener implements WebDriverListener {
+        // Start times of calls in flight on this thread; a stack because a listener call may trigger another
+        private static final ThreadLocal<Deque<Long>> startTimes = ThreadLocal.withInitial(ArrayDeque::new);
+        private final String target;
+
+        private TimingListener(String target) {
+            this.target = target;
+        }
+
+        @Override
+        public void beforeAnyCall(Object target, Method method, Object[] args) {
+            startTimes.get().push(System.nanoTime());
+        }
+
+        @Override
+        public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+            finish(method, false);
+        }
+
+        @Override
+        public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+            finish(method, true);
+        }
+
+        private void finish(Method method, boolean failed) {
+            Long start = startTimes.get().poll();
+            if (start != null) {
+                record(target, method.getDeclaringClass().getSimpleName() + "." + method.getName(), System.nanoTime() - start, failed);
+            }
+        }
+    }
+}
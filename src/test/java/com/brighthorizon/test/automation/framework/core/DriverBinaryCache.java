@@ -0,0 +1,226 @@
+package com.brighthorizon.test.automation.framework.core;
+
+import com.brighthorizon.test.automation.framework.config.ConfigReader;
+import com.brighthorizon.test.automation.framework.utils.exception.CustomExceptions;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves driver binaries once per JVM and keeps them in an on-disk cache with a version manifest,
+ * so later runs can start without network access.
+ */
+class DriverBinaryCache {
+
+    private static final Logger logger = LogManager.getLogger(DriverBinaryCache.class);
+    private static final String MANIFEST = "driver-manifest.properties";
+    // One resolution per browser, failed ones included, so a failing download is not retried by every thread
+    private static final Map<String, CompletableFuture<String>> resolvedPaths = new ConcurrentHashMap<>();
+    private static final Map<String, Optional<String>> locatedPaths = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the driver binary for a browser, resolving it with WebDriverManager on first use.
+     * With driver-offline=true only the manifest of the cache is consulted.
+     *
+     * @param browser the browser type (chrome, firefox or edge)
+     * @return absolute path of the driver binary
+     */
+    static String resolve(String browser) {
+        String key = browser.toLowerCase();
+        CompletableFuture<String> resolution = resolvedPaths.get(key);
+        if (resolution == null) {
+            // Only the first caller per browser resolves, outside the map so other keys are not blocked by the download
+            CompletableFuture<String> created = new CompletableFuture<>();
+            resolution = resolvedPaths.putIfAbsent(key, created);
+            if (resolution == null) {
+                resolution = created;
+                try {
+                    created.complete(resolveOnce(key));
+                } catch (RuntimeException e) {
+                    created.completeExceptionally(e);
+                }
+            }
+        }
+        try {
+            return resolution.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    /**
+     * Finds a driver binary for local-driver mode when the configured path does not exist,
+     * e.g. the Windows .exe paths of config.properties on Linux. Looks in the manifest of the cache, then on the PATH.
+     *
+     * @param browser        the browser type (chrome, firefox or edge)
+     * @param configuredPath the path from config.properties
+     * @return a usable driver path, or null to let Selenium Manager locate the driver
+     */
+    static String locate(String browser, String configuredPath) {
+        String browserKey = browser.toLowerCase();
+        // Keyed by the configured path too, so a changed path is looked up again
+        return locatedPaths.computeIfAbsent(browserKey + "|" + configuredPath,
+                key -> Optional.ofNullable(search(browserKey, configuredPath))).orElse(null);
+    }
+
+    /**
+     * Gets the system property Selenium reads the driver path of a browser from.
+     */
+    static String driverProperty(String browser) {
+        switch (browser.toLowerCase()) {
+            case "chrome":
+                return "webdriver.chrome.driver";
+            case "firefox":
+                return "webdriver.gecko.driver";
+            case "edge":
+                return "webdriver.edge.driver";
+            default:
+                throw new IllegalArgumentException("Unsupported browser: " + browser);
+        }
+    }
+
+    private static String search(String browser, String configuredPath) {
+        if (configuredPath != null && Files.isExecutable(Paths.get(configuredPath))) {
+            return configuredPath;
+        }
+        String cached = readManifest().getProperty(browser + ".path");
+        if (cached != null && Files.isExecutable(Paths.get(cached))) {
+            logger.info("Configured {} driver {} not found. Using cached binary {}.", browser, configuredPath, cached);
+            return cached;
+        }
+        String onPath = findOnPath(driverExecutable(browser));
+        if (onPath != null) {
+            logger.info("Configured {} driver {} not found. Using {} from PATH.", browser, configuredPath, onPath);
+            return onPath;
+        }
+        logger.info("Configured {} driver {} not found. Leaving driver discovery to Selenium Manager.", browser, configuredPath);
+        return null;
+    }
+
+    private static String resolveOnce(String browser) {
+        if (isOffline()) {
+            return fromManifest(browser, "driver-offline is set");
+        }
+        try {
+            WebDriverManager manager = managerFor(browser).cachePath(getCachePath());
+            manager.setup();
+            String path = manager.getDownloadedDriverPath();
+            writeManifestEntry(browser, path, manager.getDownloadedDriverVersion());
+            logger.info("Resolved {} driver {} at {}.", browser, manager.getDownloadedDriverVersion(), path);
+            return path;
+        } catch (RuntimeException e) {
+            logger.warn("Driver resolution for {} failed: {}. Trying the cached binary.", browser, e.getMessage());
+            return fromManifest(browser, e.getMessage());
+        }
+    }
+
+    private static String fromManifest(String browser, String reason) {
+        Properties manifest = readManifest();
+        String path = manifest.getProperty(browser + ".path");
+        if (path == null || !Files.isExecutable(Paths.get(path))) {
+            throw new CustomExceptions.DriverInitializationException("No cached " + browser + " driver in "
+                    + Paths.get(getCachePath(), MANIFEST) + " (" + reason + "). Run once online to populate the cache.", null);
+        }
+        logger.info("Using cached {} driver {} at {} ({}).", browser, manifest.getProperty(browser + ".version"), path, reason);
+        return path;
+    }
+
+    private static WebDriverManager managerFor(String browser) {
+        switch (browser) {
+            case "chrome":
+                return WebDriverManager.chromedriver();
+            case "firefox":
+                return WebDriverManager.firefoxdriver();
+            case "edge":
+                return WebDriverManager.edgedriver();
+            default:
+                throw new IllegalArgumentException("Unsupported browser: " + browser);
+        }
+    }
+
+    private static String driverExecutable(String browser) {
+        String name;
+        switch (browser.toLowerCase()) {
+            case "chrome":
+                name = "chromedriver";
+                break;
+            case "firefox":
+                name = "geckodriver";
+                break;
+            case "edge":
+                name = "msedgedriver";
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported browser: " + browser);
+        }
+        return System.getProperty("os.name").toLowerCase().contains("win") ? name + ".exe" : name;
+    }
+
+    private static String findOnPath(String executable) {
+        String path = System.getenv("PATH");
+        if (path == null) {
+            return null;
+        }
+        for (String directory : path.split(File.pathSeparator)) {
+            Path candidate = Paths.get(directory, executable);
+            if (Files.isExecutable(candidate)) {
+                return candidate.toString();
+            }
+        }
+        return null;
+    }
+
+    private static synchronized Properties readManifest() {
+        Properties manifest = new Properties();
+        File file = Paths.get(getCachePath(), MANIFEST).toFile();
+        if (file.exists()) {
+            try (Reader reader = new FileReader(file)) {
+                manifest.load(reader);
+            } catch (IOException e) {
+                logger.warn("Failed to read driver manifest {}: {}", file, e.getMessage());
+            }
+        }
+        return manifest;
+    }
+
+    private static synchronized void writeManifestEntry(String browser, String path, String version) {
+        Properties manifest = readManifest();
+        manifest.setProperty(browser + ".path", Paths.get(path).toAbsolutePath().toString());
+        manifest.setProperty(browser + ".version", String.valueOf(version));
+        manifest.setProperty(browser + ".resolvedAt", Instant.now().toString());
+        File file = Paths.get(getCachePath(), MANIFEST).toFile();
+        file.getParentFile().mkdirs();
+        try (Writer writer = new FileWriter(file)) {
+            manifest.store(writer, "Driver binaries resolved by WebDriverManager");
+        } catch (IOException e) {
+            logger.warn("Failed to write driver manifest {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static boolean isOffline() {
+        // -Ddriver-offline overrides the file value through the configuration snapshot
+        return ConfigReader.snapshot().getBoolean("driver-offline", false);
+    }
+
+    private static String getCachePath() {
+        String path = ConfigReader.getGlobal("driver-cache-path");
+        return path == null || path.isBlank() ? ".webdriver-cache" : path.trim();
+    }
+}
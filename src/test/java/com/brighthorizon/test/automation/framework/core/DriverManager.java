@@ -2,30 +2,58 @@ package com.brighthorizon.test.automation.framework.core;
 
 import com.brighthorizon.test.automation.framework.runner.BrowserStackRunner;
 import com.brighthorizon.test.automation.framework.config.ConfigReader;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.brighthorizon.test.automation.framework.utils.selenium.CachingFieldDecorator;
+import com.brighthorizon.test.automation.framework.utils.selenium.NetworkPolicy;
+import com.brighthorizon.test.automation.framework.utils.selenium.PageReadiness;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.remote.AbstractDriverOptions;
 import org.openqa.selenium.remote.DesiredCapabilities;
 import org.openqa.selenium.remote.RemoteWebDriver;
 
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Collectors;
 
 public class DriverManager {
 
     private static final Logger logger = LogManager.getLogger(DriverManager.class);
     private static final ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
-    private static final ThreadLocal<String> executionPlatform = ThreadLocal.withInitial(() -> ConfigReader.getGlobal("execution-platform").toLowerCase());
+    // Settings read when a session starts; idle and pre-spawned sessions started with old values are dropped
+    private static final List<String> SESSION_SETTING_PREFIXES = List.of("execution-platform", "cloud-provider", "grid-url",
+            "docker-hub-url", "chrome-", "firefox-", "edge-", "driver-", "launch-", "page-load-strategy", "implicit-wait-ms",
+            "network-", "command-metrics-enabled", "browserstack.");
+
+    static {
+        ConfigReader.addChangeListener((previous, current, changedKeys) -> {
+            List<String> sessionKeys = changedKeys.stream()
+                    .filter(key -> SESSION_SETTING_PREFIXES.stream().anyMatch(key::startsWith))
+                    .collect(Collectors.toList());
+            if (!sessionKeys.isEmpty()) {
+                // Leased sessions keep running; their scenarios finish on the settings they started with
+                String reason = "configuration changed: " + sessionKeys;
+                DriverPool.evictIdleSessions(reason);
+                int discarded = DriverPreSpawner.discardSpawned();
+                logger.info("Dropped idle and {} pre-spawned session(s) after {}.", discarded, reason);
+            }
+        });
+    }
 
     /**
      * Initializes the WebDriver instance for the current thread.
@@ -37,31 +65,28 @@ public class DriverManager {
         WebDriver driver = null;
 
         try {
-            String platform = executionPlatform.get();
+            String platform = getExecutionPlatform();
             logger.info("Execution Platform: {}", platform);
 
-            switch (platform) {
-                case "local-driver":
-                    driver = initializeLocalDriver(browser);
-                    break;
-                case "local-driver-manager":
-                    driver = initializeLocalDriverManager(browser);
-                    break;
-                case "cloud":
-                    driver = initializeCloudDriver(browser);
-                    break;
-                case "docker":
-                    driver = initializeDockerDriver(browser);
-                    break;
-                case "grid":
-                    driver = initializeGridDriver(browser);
-                    break;
-                default:
-                    throw new IllegalArgumentException("Unsupported execution platform: " + platform);
+            String key = sessionKey(browser, platform);
+            DriverPool.DriverFactory factory = driverFactory(browser, platform);
+            if (DriverPreSpawner.isEnabled()) {
+                DriverPool.DriverFactory spawnFactory = factory;
+                factory = () -> DriverPreSpawner.take(key, spawnFactory);
+            }
+
+            if (DriverPool.isEnabled()) {
+                driver = DriverPool.acquire(key, factory);
+            } else {
+                driver = factory.create();
             }
 
             if (driver != null) {
-                driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
+                // Element waits go through SmartWait; an implicit wait would stack on top of every poll
+                long implicitWaitMillis = getImplicitWaitMillis();
+                if (implicitWaitMillis > 0) {
+                    driver.manage().timeouts().implicitlyWait(Duration.ofMillis(implicitWaitMillis));
+                }
                 driverThreadLocal.set(driver);
                 logger.info("{} browser initialized successfully for thread: {}", browser, Thread.currentThread().getId());
             }
@@ -73,30 +98,106 @@ public class DriverManager {
         return driver;
     }
 
+    /**
+     * Starts booting sessions for the browser in the background when pre-spawning is configured,
+     * so the first scenario on this thread does not wait for a full browser launch.
+     *
+     * @param browser the browser type (e.g., chrome, firefox, edge)
+     */
+    public static void warmUp(String browser) {
+        if (!DriverPreSpawner.isEnabled()) {
+            return;
+        }
+        String platform = getExecutionPlatform();
+        DriverPreSpawner.warmUp(sessionKey(browser, platform), driverFactory(browser, platform));
+    }
+
+    /**
+     * Resolves everything that depends on the calling thread (such as the BrowserStack target) up front,
+     * so the returned factory can start the session on any thread.
+     */
+    private static DriverPool.DriverFactory driverFactory(String browser, String platform) {
+        DriverPool.DriverFactory factory = platformFactory(browser, platform);
+        // Early page-load strategies rely on request tracking for PageReadiness.networkIdle.
+        // Cloud sessions are left alone: augmenting them would change the identity the session broker tracks
+        boolean applyNetworkPolicy = (NetworkPolicy.isEnabled() || PageReadiness.getPageLoadStrategy() != PageLoadStrategy.NORMAL)
+                && !"cloud".equals(platform);
+        boolean recordMetrics = CommandMetrics.isEnabled();
+        if (!applyNetworkPolicy && !recordMetrics) {
+            return factory;
+        }
+        return () -> {
+            long start = System.nanoTime();
+            WebDriver driver = factory.create();
+            if (applyNetworkPolicy) {
+                driver = NetworkPolicy.apply(driver);
+            }
+            if (!recordMetrics) {
+                return driver;
+            }
+            CommandMetrics.record(browser, platform, "newSession", System.nanoTime() - start);
+            return CommandMetrics.decorate(driver, browser, platform);
+        };
+    }
+
+    private static DriverPool.DriverFactory platformFactory(String browser, String platform) {
+        switch (platform) {
+            case "local-driver":
+                return () -> LaunchProfile.attach(initializeLocalDriver(browser));
+            case "local-driver-manager":
+                return () -> LaunchProfile.attach(initializeLocalDriverManager(browser));
+            case "cloud":
+                return initializeCloudDriver(browser);
+            case "docker":
+                return () -> initializeDockerDriver(browser);
+            case "grid":
+                return () -> initializeGridDriver(browser);
+            default:
+                throw new IllegalArgumentException("Unsupported execution platform: " + platform);
+        }
+    }
+
+    /**
+     * Builds the pool key for a browser on a platform. Cloud sessions also carry the BrowserStack target.
+     */
+    private static String sessionKey(String browser, String platform) {
+        String key = platform + "/" + browser.toLowerCase();
+        if ("cloud".equals(platform)) {
+            key += "/" + BrowserStackRunner.getOS() + "/" + BrowserStackRunner.getOSVersion()
+                    + "/" + BrowserStackRunner.getBrowserVersion() + "/" + BrowserStackRunner.getDeviceName();
+        }
+        return key;
+    }
+
     private static WebDriver initializeLocalDriver(String browser) {
+        String profile = LaunchProfile.current();
         switch (browser.toLowerCase()) {
             case "chrome":
                 ChromeOptions chromeOptions = new ChromeOptions();
                 chromeOptions.addArguments("--disable-geolocation");
                 chromeOptions.addArguments("--use-fake-ui-for-media-stream"); // Disables popup
-                System.setProperty("webdriver.chrome.driver", ConfigReader.getGlobal("chrome-driver-path"));
-                logger.info("Initializing Chrome browser with disabled geolocation.");
-                return new ChromeDriver(chromeOptions);
+                LaunchProfile.applyTo(chromeOptions, profile);
+                useDriverBinary("chrome", DriverBinaryCache.locate("chrome", ConfigReader.getGlobal("chrome-driver-path")));
+                logger.info("Initializing Chrome browser with disabled geolocation ({} launch profile).", profile);
+                return new ChromeDriver(withPageLoadStrategy(chromeOptions));
 
             case "firefox":
                 FirefoxOptions firefoxOptions = new FirefoxOptions();
                 firefoxOptions.addPreference("geo.enabled", false); // Disables geolocation
                 firefoxOptions.addPreference("permissions.default.geo", 2); // Deny location automatically
-                System.setProperty("webdriver.gecko.driver", ConfigReader.getGlobal("firefox-driver-path"));
-                logger.info("Initializing Firefox browser with disabled geolocation.");
-                return new FirefoxDriver(firefoxOptions);
+                LaunchProfile.applyTo(firefoxOptions, profile);
+                NetworkPolicy.applyTo(firefoxOptions);
+                useDriverBinary("firefox", DriverBinaryCache.locate("firefox", ConfigReader.getGlobal("firefox-driver-path")));
+                logger.info("Initializing Firefox browser with disabled geolocation ({} launch profile).", profile);
+                return new FirefoxDriver(withPageLoadStrategy(firefoxOptions));
 
             case "edge":
                 EdgeOptions edgeOptions = new EdgeOptions();
                 edgeOptions.addArguments("--disable-geolocation");
-                System.setProperty("webdriver.edge.driver", ConfigReader.getGlobal("edge-driver-path"));
-                logger.info("Initializing Edge browser with disabled geolocation.");
-                return new EdgeDriver(edgeOptions);
+                LaunchProfile.applyTo(edgeOptions, profile);
+                useDriverBinary("edge", DriverBinaryCache.locate("edge", ConfigReader.getGlobal("edge-driver-path")));
+                logger.info("Initializing Edge browser with disabled geolocation ({} launch profile).", profile);
+                return new EdgeDriver(withPageLoadStrategy(edgeOptions));
 
             default:
                 throw new IllegalArgumentException("Unsupported browser: " + browser);
@@ -105,29 +206,34 @@ public class DriverManager {
 
 
     private static WebDriver initializeLocalDriverManager(String browser) {
+        String profile = LaunchProfile.current();
         switch (browser.toLowerCase()) {
             case "chrome":
-                WebDriverManager.chromedriver().setup();
+                useDriverBinary("chrome", DriverBinaryCache.resolve("chrome"));
                 ChromeOptions chromeOptions = new ChromeOptions();
                 chromeOptions.addArguments("--disable-geolocation");
                 chromeOptions.addArguments("--use-fake-ui-for-media-stream"); // Blocks location pop-ups
-                logger.info("Initializing Chrome browser using WebDriverManager with geolocation disabled.");
-                return new ChromeDriver(chromeOptions);
+                LaunchProfile.applyTo(chromeOptions, profile);
+                logger.info("Initializing Chrome browser using WebDriverManager with geolocation disabled ({} launch profile).", profile);
+                return new ChromeDriver(withPageLoadStrategy(chromeOptions));
 
             case "firefox":
-                WebDriverManager.firefoxdriver().setup();
+                useDriverBinary("firefox", DriverBinaryCache.resolve("firefox"));
                 FirefoxOptions firefoxOptions = new FirefoxOptions();
                 firefoxOptions.addPreference("geo.enabled", false);
                 firefoxOptions.addPreference("permissions.default.geo", 2);
-                logger.info("Initializing Firefox browser using WebDriverManager with geolocation disabled.");
-                return new FirefoxDriver(firefoxOptions);
+                LaunchProfile.applyTo(firefoxOptions, profile);
+                NetworkPolicy.applyTo(firefoxOptions);
+                logger.info("Initializing Firefox browser using WebDriverManager with geolocation disabled ({} launch profile).", profile);
+                return new FirefoxDriver(withPageLoadStrategy(firefoxOptions));
 
             case "edge":
-                WebDriverManager.edgedriver().setup();
+                useDriverBinary("edge", DriverBinaryCache.resolve("edge"));
                 EdgeOptions edgeOptions = new EdgeOptions();
                 edgeOptions.addArguments("--disable-geolocation");
-                logger.info("Initializing Edge browser using WebDriverManager with geolocation disabled.");
-                return new EdgeDriver(edgeOptions);
+                LaunchProfile.applyTo(edgeOptions, profile);
+                logger.info("Initializing Edge browser using WebDriverManager with geolocation disabled ({} launch profile).", profile);
+                return new EdgeDriver(withPageLoadStrategy(edgeOptions));
 
             default:
                 throw new IllegalArgumentException("Unsupported browser: " + browser);
@@ -135,7 +241,16 @@ public class DriverManager {
     }
 
 
-    private static WebDriver initializeCloudDriver(String browser) {
+    /**
+     * Points Selenium at a driver binary. The path is the same for every thread, so setting it repeatedly is harmless.
+     */
+    private static void useDriverBinary(String browser, String driverPath) {
+        if (driverPath != null) {
+            System.setProperty(DriverBinaryCache.driverProperty(browser), driverPath);
+        }
+    }
+
+    private static DriverPool.DriverFactory initializeCloudDriver(String browser) {
         String cloudProvider = ConfigReader.getGlobal("cloud-provider").toLowerCase();
         if ("browserstack".equals(cloudProvider)) {
             return initializeBrowserStackDriver();
@@ -144,7 +259,7 @@ public class DriverManager {
         }
     }
 
-    private static WebDriver initializeDockerDriver(String browser) throws MalformedURLException {
+    private static WebDriver initializeDockerDriver(String browser) throws IOException {
         String dockerHubURL = ConfigReader.getGlobal("docker-hub-url");
         DesiredCapabilities capabilities = new DesiredCapabilities();
 
@@ -152,41 +267,42 @@ public class DriverManager {
             case "chrome":
                 ChromeOptions chromeOptions = new ChromeOptions();
                 chromeOptions.addArguments("--headless", "--disable-gpu");
-                capabilities.merge(chromeOptions);
+                capabilities.merge(withPageLoadStrategy(chromeOptions));
                 break;
             case "firefox":
                 FirefoxOptions firefoxOptions = new FirefoxOptions();
                 firefoxOptions.addArguments("--headless", "--disable-gpu");
-                capabilities.merge(firefoxOptions);
+                NetworkPolicy.applyTo(firefoxOptions);
+                capabilities.merge(withPageLoadStrategy(firefoxOptions));
                 break;
             case "edge":
                 EdgeOptions edgeOptions = new EdgeOptions();
                 edgeOptions.addArguments("--headless", "--disable-gpu");
-                capabilities.merge(edgeOptions);
+                capabilities.merge(withPageLoadStrategy(edgeOptions));
                 break;
             default:
                 throw new IllegalArgumentException("Unsupported browser: " + browser);
         }
 
-        return new RemoteWebDriver(new URL(dockerHubURL), capabilities);
+        return HubBalancer.openSession(dockerHubURL, capabilities);
     }
 
-    private static WebDriver initializeGridDriver(String browser) throws MalformedURLException {
+    private static WebDriver initializeGridDriver(String browser) throws IOException {
         String seleniumGridUrl = ConfigReader.getGlobal("grid-url");
 
         switch (browser.toLowerCase()) {
             case "chrome":
-                return new RemoteWebDriver(new URL(seleniumGridUrl), new ChromeOptions());
+                return HubBalancer.openSession(seleniumGridUrl, withPageLoadStrategy(new ChromeOptions()));
             case "firefox":
-                return new RemoteWebDriver(new URL(seleniumGridUrl), new FirefoxOptions());
+                return HubBalancer.openSession(seleniumGridUrl, withPageLoadStrategy(NetworkPolicy.applyTo(new FirefoxOptions())));
             case "edge":
-                return new RemoteWebDriver(new URL(seleniumGridUrl), new EdgeOptions());
+                return HubBalancer.openSession(seleniumGridUrl, withPageLoadStrategy(new EdgeOptions()));
             default:
                 throw new IllegalArgumentException("Unsupported browser: " + browser);
         }
     }
 
-    private static WebDriver initializeBrowserStackDriver() {
+    private static DriverPool.DriverFactory initializeBrowserStackDriver() {
         MutableCapabilities capabilities = new MutableCapabilities();
         HashMap<String, Object> bstackOptions = new HashMap<>();
 
@@ -198,7 +314,12 @@ public class DriverManager {
         String username = ConfigReader.getBrowserStack("browserstack.username");
         String accessKey = ConfigReader.getBrowserStack("browserstack.accessKey");
 
-        String hubUrl = String.format("https://%s:%s@hub.browserstack.com/wd/hub", username, accessKey);
+        // browserstack.hubUrl points the cloud path at a stand-in hub (e.g. a local Selenium Grid) for testing
+        String configuredHubUrl = ConfigReader.getBrowserStack("browserstack.hubUrl");
+        String hubUrl = configuredHubUrl != null && !configuredHubUrl.isBlank()
+                ? configuredHubUrl.trim()
+                : String.format("https://%s:%s@hub.browserstack.com/wd/hub", username, accessKey);
+        String capabilityKey = String.join("/", browser, os, osVersion, browserVersion, String.valueOf(deviceName));
 
         if (deviceName != null && !deviceName.isEmpty()) {
             capabilities.setCapability("browserName", browser);
@@ -215,13 +336,32 @@ public class DriverManager {
         bstackOptions.put("accessKey", accessKey);
 
         capabilities.setCapability("bstack:options", bstackOptions);
+        capabilities.setCapability("pageLoadStrategy", PageReadiness.getPageLoadStrategy().toString());
+
+        return () -> RemoteSessionBroker.open(capabilityKey, () -> {
+            try {
+                return new RemoteWebDriver(new URL(hubUrl), capabilities);
+            } catch (MalformedURLException e) {
+                logger.error("Invalid BrowserStack Hub URL.", e);
+                throw new RuntimeException("Failed to initialize BrowserStack driver.", e);
+            }
+        });
+    }
 
-        try {
-            return new RemoteWebDriver(new URL(hubUrl), capabilities);
-        } catch (MalformedURLException e) {
-            logger.error("Invalid BrowserStack Hub URL.", e);
-            throw new RuntimeException("Failed to initialize BrowserStack driver.", e);
-        }
+    /**
+     * Sets the page-load-strategy setting on the options. With eager or none, page objects wait for their own readiness.
+     */
+    private static <T extends AbstractDriverOptions<?>> T withPageLoadStrategy(T options) {
+        options.setPageLoadStrategy(PageReadiness.getPageLoadStrategy());
+        return options;
+    }
+
+    private static String getExecutionPlatform() {
+        return ConfigReader.getGlobal("execution-platform").toLowerCase();
+    }
+
+    private static long getImplicitWaitMillis() {
+        return ConfigReader.snapshot().getLong("implicit-wait-ms", 0);
     }
 
     /**
@@ -233,11 +373,102 @@ public class DriverManager {
 
     /**
      * Cleans up the WebDriver instance for the current thread.
+     * In pooled mode the session is reset and returned to the pool instead of being quit.
      */
     public static void quitDriver() {
-        if (driverThreadLocal.get() != null) {
-            driverThreadLocal.get().quit();
-            driverThreadLocal.remove();
+        WebDriver driver = driverThreadLocal.get();
+        if (driver != null) {
+            try {
+                if (!DriverPool.release(driver)) {
+                    destroyDriver(driver);
+                }
+            } finally {
+                driverThreadLocal.remove();
+            }
+        }
+    }
+
+    /**
+     * Checks whether a failure was caused by losing the browser session rather than by the test itself,
+     * e.g. a recycled grid node, a timed-out BrowserStack session or a refused connection to the hub.
+     *
+     * @param throwable the failure to inspect, including its causes
+     * @return true when the session is gone
+     */
+    public static boolean isSessionLost(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof NoSuchSessionException) {
+                return true;
+            }
+        }
+        return HubBalancer.isConnectionFailure(throwable);
+    }
+
+    /**
+     * Checks whether the current thread's session still answers commands.
+     *
+     * @return false when there is no session or it no longer responds
+     */
+    public static boolean isSessionAlive() {
+        WebDriver driver = driverThreadLocal.get();
+        if (driver == null) {
+            return false;
+        }
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (WebDriverException e) {
+            return !isSessionLost(e);
+        }
+    }
+
+    /**
+     * Drops the current thread's lost session without returning it to the pool.
+     * The next {@link #initializeDriver(String)} on this thread starts a fresh session.
+     */
+    public static void discardLostSession() {
+        WebDriver driver = driverThreadLocal.get();
+        if (driver != null) {
+            try {
+                logger.warn("Discarding lost WebDriver session on thread: {}", Thread.currentThread().getId());
+                if (!DriverPool.discard(driver)) {
+                    destroyDriver(driver);
+                }
+            } finally {
+                driverThreadLocal.remove();
+            }
+        }
+    }
+
+    /**
+     * Quits every pooled and pre-spawned session and deletes temporary browser profiles. Call once at the end of the suite.
+     */
+    public static void shutdown() {
+        DriverPreSpawner.shutdown();
+        DriverPool.shutdown();
+        LaunchProfile.cleanUp();
+        CommandMetrics.writeSummary();
+        logger.info(CachingFieldDecorator.statistics());
+        String queueWaits = RemoteSessionBroker.queueWaitSummary();
+        if (!queueWaits.isEmpty()) {
+            logger.info("Cloud session queue wait times:\n{}", queueWaits);
+        }
+    }
+
+    /**
+     * Quits a session and frees any cloud session slot and profile directory it held.
+     */
+    static void destroyDriver(WebDriver driver) {
+        WebDriver session = CommandMetrics.unwrap(driver);
+        Path profileDirectory = LaunchProfile.detach(session);
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            logger.warn("Failed to quit WebDriver session: {}", e.getMessage());
+        } finally {
+            NetworkPolicy.forget(session);
+            RemoteSessionBroker.release(session);
+            LaunchProfile.delete(profileDirectory);
         }
     }
 }
@@ -0,0 +1,224 @@
+package com.brighthorizon.test.automation.framework.core;
+
+import com.brighthorizon.test.automation.framework.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps started WebDriver sessions warm between scenarios, keyed by browser and execution platform.
+ */
+class DriverPool {
+
+    private static final Logger logger = LogManager.getLogger(DriverPool.class);
+    private static final Map<String, Deque<PooledSession>> idleSessions = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, PooledSession> leasedSessions = new ConcurrentHashMap<>();
+    private static final AtomicBoolean shuttingDown = new AtomicBoolean(false);
+    private static final AtomicBoolean shutdownHookRegistered = new AtomicBoolean(false);
+    private static final AtomicLong sessionsCreated = new AtomicLong();
+    private static final AtomicLong sessionsReused = new AtomicLong();
+    private static final AtomicLong sessionsEvicted = new AtomicLong();
+
+    @FunctionalInterface
+    interface DriverFactory {
+        WebDriver create() throws Exception;
+    }
+
+    private static class PooledSession {
+        private final String key;
+        private final WebDriver driver;
+        private int uses;
+
+        private PooledSession(String key, WebDriver driver) {
+            this.key = key;
+            this.driver = driver;
+        }
+    }
+
+    /**
+     * Checks whether pooled mode is switched on in the global configuration.
+     *
+     * @return true when sessions should be reused across scenarios
+     */
+    static boolean isEnabled() {
+        return ConfigReader.snapshot().getBoolean("driver-pool-enabled", false);
+    }
+
+    /**
+     * Hands out an idle session for the key, or starts a new one when none is available.
+     *
+     * @param key     pool key built from browser and execution platform
+     * @param factory creates a new session when the pool is empty
+     * @return a healthy WebDriver leased to the caller
+     */
+    static WebDriver acquire(String key, DriverFactory factory) throws Exception {
+        registerShutdownHook();
+        Deque<PooledSession> idle = idleSessions.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>());
+
+        PooledSession session;
+        while ((session = idle.pollFirst()) != null) {
+            if (isHealthy(session.driver)) {
+                session.uses++;
+                leasedSessions.put(session.driver, session);
+                sessionsReused.incrementAndGet();
+                logger.info("Reusing pooled session for {} (use {}).", key, session.uses);
+                return session.driver;
+            }
+            evict(session, "failed health check");
+        }
+
+        session = new PooledSession(key, factory.create());
+        session.uses = 1;
+        leasedSessions.put(session.driver, session);
+        sessionsCreated.incrementAndGet();
+        logger.info("Started new pooled session for {}.", key);
+        return session.driver;
+    }
+
+    /**
+     * Returns a leased session to the pool after resetting its state, or evicts it.
+     *
+     * @param driver the driver previously handed out by {@link #acquire}
+     * @return false when the driver was not leased from the pool
+     */
+    static boolean release(WebDriver driver) {
+        PooledSession session = leasedSessions.remove(driver);
+        if (session == null) {
+            return false;
+        }
+
+        if (shuttingDown.get()) {
+            evict(session, "pool shutting down");
+        } else if (session.uses >= getIntSetting("driver-pool-max-uses", 25)) {
+            evict(session, "reached max uses");
+        } else if (!resetState(driver)) {
+            evict(session, "state reset failed");
+        } else {
+            Deque<PooledSession> idle = idleSessions.computeIfAbsent(session.key, k -> new ConcurrentLinkedDeque<>());
+            if (idle.size() >= getIntSetting("driver-pool-max-idle", 4)) {
+                evict(session, "idle pool is full");
+            } else {
+                idle.offerFirst(session);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Quits a leased session without trying to reset it, e.g. after the remote end went away.
+     *
+     * @param driver the driver previously handed out by {@link #acquire}
+     * @return false when the driver was not leased from the pool
+     */
+    static boolean discard(WebDriver driver) {
+        PooledSession session = leasedSessions.remove(driver);
+        if (session == null) {
+            return false;
+        }
+        evict(session, "session lost");
+        return true;
+    }
+
+    /**
+     * Quits every idle session while keeping leased ones, e.g. to free cloud session slots.
+     *
+     * @param reason logged with each eviction
+     */
+    static void evictIdleSessions(String reason) {
+        evictIdleSessions(driver -> true, Integer.MAX_VALUE, reason);
+    }
+
+    /**
+     * Quits idle sessions that match, longest idle first within each key, up to a limit.
+     *
+     * @param matches selects the sessions that may be quit
+     * @param limit   the most sessions to quit
+     * @param reason  logged with each eviction
+     * @return the number of sessions quit
+     */
+    static int evictIdleSessions(Predicate<WebDriver> matches, int limit, String reason) {
+        int evicted = 0;
+        for (Deque<PooledSession> idle : idleSessions.values()) {
+            for (Iterator<PooledSession> sessions = idle.descendingIterator(); sessions.hasNext() && evicted < limit; ) {
+                PooledSession session = sessions.next();
+                // Another thread may lease the session first
+                if (matches.test(session.driver) && idle.remove(session)) {
+                    evict(session, reason);
+                    evicted++;
+                }
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Quits every pooled session, idle or leased, and logs pool statistics.
+     */
+    static void shutdown() {
+        if (!shuttingDown.compareAndSet(false, true)) {
+            return;
+        }
+        evictIdleSessions("pool shutdown");
+        leasedSessions.values().forEach(session -> evict(session, "pool shutdown"));
+        leasedSessions.clear();
+        logger.info("Driver pool shut down. Created: {}, reused: {}, evicted: {}.",
+                sessionsCreated.get(), sessionsReused.get(), sessionsEvicted.get());
+    }
+
+    private static boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            logger.warn("Pooled session is not responding: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static boolean resetState(WebDriver driver) {
+        try {
+            String mainWindow = driver.getWindowHandle();
+            for (String handle : driver.getWindowHandles()) {
+                if (!handle.equals(mainWindow)) {
+                    driver.switchTo().window(handle);
+                    driver.close();
+                }
+            }
+            driver.switchTo().window(mainWindow);
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            driver.manage().deleteAllCookies();
+            driver.get("about:blank");
+            return true;
+        } catch (Exception e) {
+            logger.warn("Failed to reset pooled session: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static void evict(PooledSession session, String reason) {
+        sessionsEvicted.incrementAndGet();
+        logger.info("Evicting pooled session for {} after {} use(s): {}.", session.key, session.uses, reason);
+        DriverManager.destroyDriver(session.driver);
+    }
+
+    private static int getIntSetting(String key, int defaultValue) {
+        return ConfigReader.snapshot().getInt(key, defaultValue);
+    }
+
+    private static void registerShutdownHook() {
+        if (shutdownHookRegistered.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(DriverPool::shutdown, "driver-pool-shutdown"));
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.brighthorizon.test.automation.framework.core;
+
+import com.brighthorizon.test.automation.framework.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Starts browser sessions in the background so a scenario's driver is already booting before it is requested.
+ */
+class DriverPreSpawner {
+
+    private static final Logger logger = LogManager.getLogger(DriverPreSpawner.class);
+    private static final Map<String, Queue<Future<WebDriver>>> spawnedSessions = new ConcurrentHashMap<>();
+    private static final AtomicLong readyHits = new AtomicLong();
+    private static final AtomicLong blockedWaits = new AtomicLong();
+    private static final AtomicLong blockedNanos = new AtomicLong();
+    private static final AtomicLong coldStarts = new AtomicLong();
+    private static volatile ExecutorService executor;
+    private static volatile boolean shutDown;
+
+    /**
+     * Checks whether background pre-spawning is configured.
+     *
+     * @return true when driver-prespawn-count is greater than zero
+     */
+    static boolean isEnabled() {
+        return getSpawnCount() > 0;
+    }
+
+    /**
+     * Starts sessions for the key until driver-prespawn-count of them are booting or ready.
+     *
+     * @param key     pool key built from browser and execution platform
+     * @param factory creates a session; must not depend on the calling thread's state
+     */
+    static void warmUp(String key, DriverPool.DriverFactory factory) {
+        if (shutDown) {
+            return;
+        }
+        Queue<Future<WebDriver>> queue = spawnedSessions.computeIfAbsent(key, k -> new ConcurrentLinkedQueue<>());
+        synchronized (queue) {
+            while (queue.size() < getSpawnCount()) {
+                queue.offer(getExecutor().submit(factory::create));
+            }
+        }
+    }
+
+    /**
+     * Hands out a pre-spawned session, waiting for one that is still booting if necessary,
+     * and immediately starts a replacement in the background.
+     *
+     * @param key     pool key built from browser and execution platform
+     * @param factory creates a session; must not depend on the calling thread's state
+     * @return a started WebDriver
+     */
+    static WebDriver take(String key, DriverPool.DriverFactory factory) throws Exception {
+        Queue<Future<WebDriver>> queue = spawnedSessions.computeIfAbsent(key, k -> new ConcurrentLinkedQueue<>());
+        Future<WebDriver> next = queue.poll();
+        warmUp(key, factory);
+
+        if (next == null) {
+            coldStarts.incrementAndGet();
+            logger.info("No pre-spawned session queued for {}. Starting one synchronously.", key);
+            return factory.create();
+        }
+
+        if (next.isDone()) {
+            readyHits.incrementAndGet();
+        } else {
+            blockedWaits.incrementAndGet();
+        }
+
+        long start = System.nanoTime();
+        try {
+            return next.get();
+        } catch (ExecutionException e) {
+            logger.warn("Pre-spawned session for {} failed to start: {}. Starting one synchronously.",
+                    key, e.getCause().getMessage());
+            return factory.create();
+        } finally {
+            if (!next.isCancelled()) {
+                blockedNanos.addAndGet(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Stops pre-spawning, quits sessions nobody picked up and logs how often a ready session was available.
+     */
+    static void shutdown() {
+        shutDown = true;
+        ExecutorService current = executor;
+        if (current != null) {
+            current.shutdown();
+            try {
+                current.awaitTermination(60, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        int leftovers = discardSpawned();
+
+        long requests = readyHits.get() + blockedWaits.get() + coldStarts.get();
+        if (requests > 0) {
+            logger.info("Driver pre-spawner: {} request(s), {} ready, {} blocked on a booting session (total wait {} ms), {} cold start(s). Unused sessions quit: {}.",
+                    requests, readyHits.get(), blockedWaits.get(), TimeUnit.NANOSECONDS.toMillis(blockedNanos.get()),
+                    coldStarts.get(), leftovers);
+        }
+    }
+
+    /**
+     * Quits ready sessions nobody picked up and cancels booting ones, e.g. after the configuration they were
+     * started with changed. The next request starts fresh ones.
+     *
+     * @return number of sessions discarded
+     */
+    static int discardSpawned() {
+        List<Future<WebDriver>> leftovers = new ArrayList<>();
+        spawnedSessions.values().forEach(queue -> {
+            Future<WebDriver> future;
+            while ((future = queue.poll()) != null) {
+                leftovers.add(future);
+            }
+        });
+        for (Future<WebDriver> future : leftovers) {
+            if (future.isDone() && !future.isCancelled()) {
+                try {
+                    DriverManager.destroyDriver(future.get());
+                } catch (Exception e) {
+                    // Session never started, nothing to quit
+                }
+            } else {
+                future.cancel(true);
+            }
+        }
+        return leftovers.size();
+    }
+
+    private static ExecutorService getExecutor() {
+        if (executor == null) {
+            synchronized (DriverPreSpawner.class) {
+                if (executor == null) {
+                    AtomicInteger threadNumber = new AtomicInteger();
+                    executor = Executors.newFixedThreadPool(getIntSetting("driver-prespawn-threads", 2), runnable -> {
+                        Thread thread = new Thread(runnable, "driver-prespawn-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return executor;
+    }
+
+    private static int getSpawnCount() {
+        return getIntSetting("driver-prespawn-count", 0);
+    }
+
+    private static int getIntSetting(String key, int defaultValue) {
+        return ConfigReader.snapshot().getInt(key, defaultValue);
+    }
+}
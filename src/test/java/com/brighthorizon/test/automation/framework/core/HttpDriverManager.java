@@ -0,0 +1,57 @@
+package com.brighthorizon.test.automation.framework.core;
+
+import com.brighthorizon.test.automation.framework.utils.http.HttpPageClient;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+
+/**
+ * Holds the HTTP session of scenarios tagged @http, which run against fetched pages instead of a browser.
+ */
+public class HttpDriverManager {
+
+    private static final Logger logger = LogManager.getLogger(HttpDriverManager.class);
+    private static final ThreadLocal<HttpPageClient> clientThreadLocal = new ThreadLocal<>();
+
+    /**
+     * Starts a new HTTP session for the current thread, closing any previous one.
+     */
+    public static void startSession() {
+        closeSession();
+        clientThreadLocal.set(new HttpPageClient());
+        logger.info("Started HTTP session.");
+    }
+
+    /**
+     * Gets the HTTP session of the current thread.
+     *
+     * @return the client, or null when the scenario runs in a browser
+     */
+    public static HttpPageClient getClient() {
+        return clientThreadLocal.get();
+    }
+
+    /**
+     * Checks whether the current scenario runs in HTTP mode.
+     */
+    public static boolean isActive() {
+        return clientThreadLocal.get() != null;
+    }
+
+    /**
+     * Closes the HTTP session of the current thread, if any.
+     */
+    public static void closeSession() {
+        HttpPageClient client = clientThreadLocal.get();
+        if (client != null) {
+            try {
+                client.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close HTTP session: {}", e.getMessage());
+            } finally {
+                clientThreadLocal.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.brighthorizon.test.automation.framework.core;
+
+import com.brighthorizon.test.automation.framework.config.ConfigReader;
+import com.brighthorizon.test.automation.framework.utils.exception.CustomExceptions;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Places new remote sessions on the least-loaded of several Selenium Grid hubs, using each hub's /status endpoint.
+ */
+class HubBalancer {
+
+    private static final Logger logger = LogManager.getLogger(HubBalancer.class);
+    private static final Map<String, HubState> hubs = new ConcurrentHashMap<>();
+    private static final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(3)).build();
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private static class HubState {
+        private final String url;
+        private volatile long checkedAt;
+        private volatile long downUntil;
+        private volatile Map<String, Integer> freeSlots = new ConcurrentHashMap<>();
+
+        private HubState(String url) {
+            this.url = url;
+        }
+
+        private boolean isDown() {
+            return System.currentTimeMillis() < downUntil;
+        }
+    }
+
+    /**
+     * Opens a session on the best hub from a comma-separated list. Hubs that cannot be reached are marked down
+     * and the session is placed on the next best hub.
+     *
+     * @param hubUrls      comma-separated hub URLs, e.g. the grid-url or docker-hub-url setting
+     * @param capabilities capabilities of the session; the browser name selects matching node slots
+     * @return the new remote session
+     */
+    static WebDriver openSession(String hubUrls, Capabilities capabilities) throws IOException {
+        List<String> urls = Arrays.stream(hubUrls.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .collect(Collectors.toList());
+        if (urls.size() == 1) {
+            return new RemoteWebDriver(new URL(urls.get(0)), capabilities);
+        }
+
+        List<String> remaining = new ArrayList<>(urls);
+        while (true) {
+            HubState hub = selectHub(remaining, capabilities.getBrowserName());
+            try {
+                return new RemoteWebDriver(new URL(hub.url), capabilities);
+            } catch (RuntimeException e) {
+                if (!isConnectionFailure(e)) {
+                    throw e;
+                }
+                markDown(hub, e.toString());
+                remaining.remove(hub.url);
+                if (remaining.isEmpty()) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether a failure means the remote end could not be reached, rather than a command failing.
+     *
+     * @param throwable the failure to inspect, including its causes
+     * @return true for refused connections, connect timeouts and unreachable browsers
+     */
+    static boolean isConnectionFailure(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException
+                    || cause instanceof HttpConnectTimeoutException
+                    || cause instanceof UnreachableBrowserException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static HubState selectHub(List<String> urls, String browserName) {
+        HubState best = null;
+        int bestFree = -1;
+        for (String url : urls) {
+            HubState hub = hubs.computeIfAbsent(url, HubState::new);
+            synchronized (hub) {
+                refreshIfStale(hub);
+                if (hub.isDown()) {
+                    continue;
+                }
+                int free = hub.freeSlots.getOrDefault(browserName.toLowerCase(), 0);
+                if (free > bestFree) {
+                    best = hub;
+                    bestFree = free;
+                }
+            }
+        }
+
+        if (best == null) {
+            throw new CustomExceptions.DriverInitializationException("No reachable hub among " + urls, null);
+        }
+        synchronized (best) {
+            // Count the placement until the next poll so concurrent requests spread across hubs
+            best.freeSlots.computeIfPresent(browserName.toLowerCase(), (browser, free) -> free - 1);
+        }
+        logger.info("Placing {} session on hub {} ({} free slot(s)).", browserName, best.url, Math.max(bestFree, 0));
+        return best;
+    }
+
+    // Caller holds the hub's monitor.
+    private static void refreshIfStale(HubState hub) {
+        long now = System.currentTimeMillis();
+        if (hub.isDown() || now - hub.checkedAt < getLongSetting("hub-status-ttl-ms", 2000)) {
+            return;
+        }
+        hub.checkedAt = now;
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(hub.url.replaceAll("/+$", "") + "/status"))
+                    .timeout(Duration.ofSeconds(5))
+                    .GET()
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                markDown(hub, "status returned HTTP " + response.statusCode());
+                return;
+            }
+            hub.freeSlots = parseFreeSlots(mapper.readTree(response.body()).path("value"));
+        } catch (IOException e) {
+            markDown(hub, e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Map<String, Integer> parseFreeSlots(JsonNode value) {
+        Map<String, Integer> freeSlots = new ConcurrentHashMap<>();
+        for (JsonNode node : value.path("nodes")) {
+            if (!"UP".equalsIgnoreCase(node.path("availability").asText("UP"))) {
+                continue;
+            }
+            JsonNode slots = node.path("slots");
+            int busy = 0;
+            for (JsonNode slot : slots) {
+                if (!slot.path("session").isMissingNode() && !slot.path("session").isNull()) {
+                    busy++;
+                }
+            }
+            int nodeCapacity = Math.max(0, node.path("maxSessions").asInt(slots.size()) - busy);
+
+            Map<String, Integer> nodeFree = new ConcurrentHashMap<>();
+            for (JsonNode slot : slots) {
+                if (slot.path("session").isMissingNode() || slot.path("session").isNull()) {
+                    nodeFree.merge(slot.path("stereotype").path("browserName").asText().toLowerCase(), 1, Integer::sum);
+                }
+            }
+            nodeFree.forEach((browser, free) -> freeSlots.merge(browser, Math.min(free, nodeCapacity), Integer::sum));
+        }
+        return freeSlots;
+    }
+
+    private static void markDown(HubState hub, String reason) {
+        hub.downUntil = System.currentTimeMillis() + getLongSetting("hub-down-retry-ms", 30000);
+        hub.checkedAt = 0;
+        logger.warn("Marking hub {} as down: {}", hub.url, reason);
+    }
+
+    private static long getLongSetting(String key, long defaultValue) {
+        return ConfigReader.snapshot().getLong(key, defaultValue);
+    }
+}
@@ -0,0 +1,227 @@
+package com.brighthorizon.test.automation.framework.core;
+
+import com.brighthorizon.test.automation.framework.config.ConfigReader;
+import com.brighthorizon.test.automation.framework.utils.selenium.BrowserUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.SessionId;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+
+/**
+ * Launch flags for local browsers. The default profile starts a headed browser as before; the performance profile
+ * starts it headless with a fixed window, no extensions or background traffic, optional image loading and a
+ * throwaway profile directory per session, deleted when the session quits.
+ */
+public class LaunchProfile {
+
+    public static final String DEFAULT = "default";
+    public static final String PERFORMANCE = "performance";
+
+    private static final Logger logger = LogManager.getLogger(LaunchProfile.class);
+    private static final Queue<Path> profileDirectories = new ConcurrentLinkedQueue<>();
+    // Created by applyTo and not yet tied to a session; the driver is started on the same thread right after
+    private static final ThreadLocal<Path> pendingDirectory = new ThreadLocal<>();
+    private static final Map<SessionId, Path> directoriesBySession = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the launch profile of this run, from the launch-profile system property or configuration.
+     *
+     * @return "default" or "performance"
+     */
+    public static String current() {
+        String profile = System.getProperty("launch-profile");
+        if (profile == null || profile.isBlank()) {
+            profile = ConfigReader.getGlobal("launch-profile");
+        }
+        return profile == null || profile.isBlank() ? DEFAULT : profile.trim().toLowerCase();
+    }
+
+    /**
+     * Checks whether local browsers start with the performance profile, which already sets the window size.
+     */
+    public static boolean isPerformance() {
+        return PERFORMANCE.equals(current());
+    }
+
+    /**
+     * Maximizes the window, unless the performance profile already launched this local browser with its fixed size.
+     * Grid, Docker and cloud sessions do not get the profile, so they are always maximized.
+     */
+    public static void maximizeWindow(WebDriver driver) {
+        String platform = ConfigReader.getGlobal("execution-platform");
+        boolean local = "local-driver".equalsIgnoreCase(platform) || "local-driver-manager".equalsIgnoreCase(platform);
+        if (!(local && isPerformance())) {
+            BrowserUtils.maximizeWindow(driver);
+        }
+    }
+
+    /**
+     * Adds the flags of a launch profile to Chrome or Edge options.
+     *
+     * @param options options already holding the browser's own settings
+     * @param profile "default" or "performance"
+     * @return the same options
+     */
+    public static <T extends ChromiumOptions<?>> T applyTo(T options, String profile) {
+        if (!isPerformance(profile)) {
+            return options;
+        }
+        options.addArguments(
+                "--headless=new",
+                "--disable-extensions",
+                "--disable-background-networking",
+                "--disable-component-update",
+                "--disable-default-apps",
+                "--disable-sync",
+                "--no-first-run",
+                "--mute-audio",
+                "--window-size=" + getWindowWidth() + "," + getWindowHeight(),
+                "--user-data-dir=" + createProfileDirectory("chromium"));
+        if (!areImagesEnabled()) {
+            options.addArguments("--blink-settings=imagesEnabled=false");
+        }
+        return options;
+    }
+
+    /**
+     * Adds the flags and preferences of a launch profile to Firefox options.
+     *
+     * @param options options already holding the browser's own settings
+     * @param profile "default" or "performance"
+     * @return the same options
+     */
+    public static FirefoxOptions applyTo(FirefoxOptions options, String profile) {
+        if (!isPerformance(profile)) {
+            return options;
+        }
+        options.addArguments(
+                "-headless",
+                "--width=" + getWindowWidth(),
+                "--height=" + getWindowHeight(),
+                "-profile", createProfileDirectory("firefox"));
+        options.addPreference("extensions.update.enabled", false);
+        options.addPreference("app.update.auto", false);
+        options.addPreference("browser.safebrowsing.malware.enabled", false);
+        options.addPreference("browser.safebrowsing.phishing.enabled", false);
+        options.addPreference("datareporting.policy.dataSubmissionEnabled", false);
+        options.addPreference("network.prefetch-next", false);
+        if (!areImagesEnabled()) {
+            options.addPreference("permissions.default.image", 2);
+        }
+        return options;
+    }
+
+    /**
+     * Ties the profile directory created for this thread's last launch to the session that uses it.
+     *
+     * @param driver the session just started with options from {@link #applyTo}
+     * @return the same driver
+     */
+    static WebDriver attach(WebDriver driver) {
+        Path directory = pendingDirectory.get();
+        pendingDirectory.remove();
+        SessionId sessionId = sessionId(driver);
+        if (directory != null && sessionId != null) {
+            directoriesBySession.put(sessionId, directory);
+        }
+        return driver;
+    }
+
+    /**
+     * Takes the profile directory of a session out of tracking. Call before the session quits, while it still has its id.
+     *
+     * @return the directory to delete once the session has quit, or null when it has none
+     */
+    static Path detach(WebDriver driver) {
+        SessionId sessionId = sessionId(driver);
+        return sessionId == null ? null : directoriesBySession.remove(sessionId);
+    }
+
+    /**
+     * Deletes a profile directory returned by {@link #detach}.
+     */
+    static void delete(Path directory) {
+        if (directory != null && profileDirectories.remove(directory)) {
+            deleteDirectory(directory);
+        }
+    }
+
+    /**
+     * Deletes the temporary profile directories of this run. Call after all sessions have been quit.
+     */
+    public static void cleanUp() {
+        Path directory;
+        while ((directory = profileDirectories.poll()) != null) {
+            deleteDirectory(directory);
+        }
+        directoriesBySession.clear();
+    }
+
+    private static boolean isPerformance(String profile) {
+        if (PERFORMANCE.equalsIgnoreCase(profile)) {
+            return true;
+        }
+        if (!DEFAULT.equalsIgnoreCase(profile)) {
+            throw new IllegalArgumentException("Unsupported launch profile: " + profile);
+        }
+        return false;
+    }
+
+    // One directory per session, as two live browsers cannot share a profile; the thread name only helps to tell them apart
+    private static String createProfileDirectory(String browser) {
+        // A directory still pending belongs to a launch that failed
+        delete(pendingDirectory.get());
+        try {
+            String worker = Thread.currentThread().getName().replaceAll("\\W+", "_");
+            Path directory = Files.createTempDirectory("bh-" + browser + "-" + worker + "-");
+            profileDirectories.add(directory);
+            pendingDirectory.set(directory);
+            return directory.toString();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create a temporary browser profile directory.", e);
+        }
+    }
+
+    private static SessionId sessionId(WebDriver driver) {
+        return driver instanceof RemoteWebDriver ? ((RemoteWebDriver) driver).getSessionId() : null;
+    }
+
+    private static void deleteDirectory(Path directory) {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        } catch (IOException e) {
+            logger.warn("Failed to delete browser profile directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private static boolean areImagesEnabled() {
+        return ConfigReader.snapshot().getBoolean("launch-images-enabled", true);
+    }
+
+    private static int getWindowWidth() {
+        return Integer.parseInt(getWindowSize()[0].trim());
+    }
+
+    private static int getWindowHeight() {
+        return Integer.parseInt(getWindowSize()[1].trim());
+    }
+
+    private static String[] getWindowSize() {
+        String value = ConfigReader.getGlobal("launch-window-size");
+        return (value == null || value.isBlank() ? "1920,1080" : value).split("[,x]");
+    }
+}
@@ -0,0 +1,247 @@
+package com.brighthorizon.test.automation.framework.core;
+
+import com.brighthorizon.test.automation.framework.config.ConfigReader;
+import com.brighthorizon.test.automation.framework.utils.misc.LatencyBudget;
+import com.brighthorizon.test.automation.framework.utils.exception.CustomExceptions;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caps the number of concurrent cloud sessions at the plan's parallel limit. Requests beyond the cap wait in
+ * per-capability queues that are served round-robin, so one browser/device cannot starve the others.
+ */
+class RemoteSessionBroker {
+
+    private static final Logger logger = LogManager.getLogger(RemoteSessionBroker.class);
+    // BrowserStack reports a full plan as e.g. "All parallel tests are currently in use, including the queued tests"
+    private static final String[] CAPACITY_HINTS = {"parallel", "queued tests", "queue size exceeded", "queue_size_exceeded",
+            "capacity", "limit exceeded", "too many"};
+
+    private static final ReentrantLock lock = new ReentrantLock();
+    private static final Condition permitGranted = lock.newCondition();
+    private static final Map<String, Deque<Ticket>> waitingRequests = new HashMap<>();
+    private static final Deque<String> rotation = new ArrayDeque<>();
+    private static int activeSessions;
+
+    private static final Map<WebDriver, String> brokeredSessions = new ConcurrentHashMap<>();
+    private static final Map<String, WaitStats> waitStats = new ConcurrentHashMap<>();
+
+    private static class Ticket {
+        private boolean granted;
+    }
+
+    private static class WaitStats {
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong totalWaitNanos = new AtomicLong();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+        private final AtomicLong capacityRetries = new AtomicLong();
+    }
+
+    /**
+     * Waits for a free session slot, then opens the session, retrying with backoff while the hub reports it is at capacity.
+     *
+     * @param capabilityKey identifies the browser/os/device combination for fair queueing
+     * @param factory       opens the remote session
+     * @return the opened session; release it through {@link #release(WebDriver)}
+     */
+    static WebDriver open(String capabilityKey, DriverPool.DriverFactory factory) throws Exception {
+        WaitStats stats = waitStats.computeIfAbsent(capabilityKey, k -> new WaitStats());
+        long waitedNanos = acquirePermit(capabilityKey);
+        stats.requests.incrementAndGet();
+        stats.totalWaitNanos.addAndGet(waitedNanos);
+        stats.maxWaitNanos.accumulateAndGet(waitedNanos, Math::max);
+        if (waitedNanos > 0) {
+            logger.info("Waited {} ms in the session queue for {}.", TimeUnit.NANOSECONDS.toMillis(waitedNanos), capabilityKey);
+        }
+
+        try {
+            WebDriver driver = createWithRetry(capabilityKey, factory, stats);
+            brokeredSessions.put(driver, capabilityKey);
+            return driver;
+        } catch (Exception e) {
+            releasePermit();
+            throw e;
+        }
+    }
+
+    /**
+     * Frees the slot held by a session opened through the broker. Call after the session has been quit.
+     *
+     * @param driver the quit session
+     */
+    static void release(WebDriver driver) {
+        if (brokeredSessions.remove(driver) != null) {
+            releasePermit();
+        }
+    }
+
+    /**
+     * Summarises queue wait times and capacity retries per capability set.
+     *
+     * @return a printable report, empty when no session went through the broker
+     */
+    static String queueWaitSummary() {
+        StringBuilder summary = new StringBuilder();
+        waitStats.forEach((key, stats) -> {
+            long requests = stats.requests.get();
+            if (requests > 0) {
+                summary.append(String.format("%s: %d session(s), avg wait %d ms, max wait %d ms, capacity retries %d%n",
+                        key, requests,
+                        TimeUnit.NANOSECONDS.toMillis(stats.totalWaitNanos.get() / requests),
+                        TimeUnit.NANOSECONDS.toMillis(stats.maxWaitNanos.get()),
+                        stats.capacityRetries.get()));
+            }
+        });
+        return summary.toString();
+    }
+
+    private static WebDriver createWithRetry(String capabilityKey, DriverPool.DriverFactory factory, WaitStats stats) throws Exception {
+        int maxRetries = getIntSetting("browserstack.sessionRetries", 3);
+        long backoffMillis = getIntSetting("browserstack.retryBackoffMs", 5000);
+
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return factory.create();
+            } catch (WebDriverException e) {
+                if (attempt >= maxRetries || !isCapacityRejection(e)) {
+                    throw e;
+                }
+                stats.capacityRetries.incrementAndGet();
+                long delay = backoffMillis * (1L << attempt) + ThreadLocalRandom.current().nextLong(backoffMillis / 2 + 1);
+                logger.warn("Hub rejected a session for {} for capacity (attempt {}/{}). Retrying in {} ms.",
+                        capabilityKey, attempt + 1, maxRetries, delay);
+                LatencyBudget.sleep(Duration.ofMillis(delay));
+            }
+        }
+    }
+
+    private static boolean isCapacityRejection(WebDriverException e) {
+        String message = String.valueOf(e.getMessage()).toLowerCase(Locale.ROOT);
+        for (String hint : CAPACITY_HINTS) {
+            if (message.contains(hint)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long acquirePermit(String capabilityKey) throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(getIntSetting("browserstack.queueTimeoutSeconds", 600));
+
+        int slotsNeeded;
+        lock.lock();
+        try {
+            if (activeSessions < getMaxSessions() && rotation.isEmpty()) {
+                activeSessions++;
+                return 0;
+            }
+            // This request and those already waiting, less the slots still free
+            slotsNeeded = waitingRequests.values().stream().mapToInt(Deque::size).sum() + 1
+                    - Math.max(0, getMaxSessions() - activeSessions);
+        } finally {
+            lock.unlock();
+        }
+
+        // Idle pooled sessions of other capabilities hold slots too; give up as many as the queue needs.
+        // Idle sessions of this capability are left for the threads about to reuse them
+        if (slotsNeeded > 0) {
+            DriverPool.evictIdleSessions(driver -> {
+                String key = brokeredSessions.get(CommandMetrics.unwrap(driver));
+                return key != null && !key.equals(capabilityKey);
+            }, slotsNeeded, "session slot needed for " + capabilityKey);
+        }
+
+        lock.lock();
+        Ticket ticket = new Ticket();
+        try {
+            Deque<Ticket> queue = waitingRequests.computeIfAbsent(capabilityKey, k -> new ArrayDeque<>());
+            if (queue.isEmpty()) {
+                rotation.addLast(capabilityKey);
+            }
+            queue.addLast(ticket);
+            dispatch();
+
+            while (!ticket.granted) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    withdraw(capabilityKey, ticket);
+                    throw new CustomExceptions.DriverInitializationException(
+                            "Timed out waiting for a free session slot for " + capabilityKey, null);
+                }
+                permitGranted.awaitNanos(remaining);
+            }
+            return System.nanoTime() - start;
+        } catch (InterruptedException e) {
+            if (ticket.granted) {
+                activeSessions--;
+                dispatch();
+            } else {
+                withdraw(capabilityKey, ticket);
+            }
+            throw e;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void releasePermit() {
+        lock.lock();
+        try {
+            activeSessions--;
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Hands free slots to the head of each capability queue in turn. Caller holds the lock.
+    private static void dispatch() {
+        boolean grantedAny = false;
+        while (activeSessions < getMaxSessions() && !rotation.isEmpty()) {
+            String key = rotation.pollFirst();
+            Deque<Ticket> queue = waitingRequests.get(key);
+            queue.pollFirst().granted = true;
+            activeSessions++;
+            grantedAny = true;
+            if (!queue.isEmpty()) {
+                rotation.addLast(key);
+            }
+        }
+        if (grantedAny) {
+            permitGranted.signalAll();
+        }
+    }
+
+    // Caller holds the lock.
+    private static void withdraw(String capabilityKey, Ticket ticket) {
+        Deque<Ticket> queue = waitingRequests.get(capabilityKey);
+        queue.remove(ticket);
+        if (queue.isEmpty()) {
+            rotation.remove(capabilityKey);
+        }
+    }
+
+    private static int getMaxSessions() {
+        return getIntSetting("browserstack.maxSessions", 5);
+    }
+
+    private static int getIntSetting(String key, int defaultValue) {
+        return ConfigReader.snapshot().getBrowserStackInt(key, defaultValue);
+    }
+}
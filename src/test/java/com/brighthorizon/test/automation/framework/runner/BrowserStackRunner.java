@@ -1,12 +1,18 @@
 package com.brighthorizon.test.automation.framework.runner;
 
+import com.brighthorizon.test.automation.framework.config.ConfigReader;
+import com.brighthorizon.test.automation.framework.core.DriverManager;
 import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.FeatureWrapper;
+import io.cucumber.testng.PickleWrapper;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Optional;
 import org.testng.annotations.Parameters;
+import org.testng.annotations.Test;
 
 @CucumberOptions(
         features = "src/test/resources/feature-files", // Path to your feature files
@@ -15,7 +21,8 @@ import org.testng.annotations.Parameters;
                 "pretty", // Prints Gherkin steps in the console
                 "html:target/cucumber-reports/cucumber-html-report.html", // HTML report
                 "json:target/cucumber-reports/cucumber.json", // JSON report
-                "junit:target/cucumber-reports/cucumber.xml" // JUnit XML report
+                "junit:target/cucumber-reports/cucumber.xml", // JUnit XML report
+                "com.brighthorizon.test.automation.framework.runner.CommandMetricsPlugin" // WebDriver command metrics
         },
         tags = "@smoke", // Tags to filter tests
         monochrome = true // Better console output
@@ -27,6 +34,12 @@ public class BrowserStackRunner extends AbstractTestNGCucumberTests {
     private static final ThreadLocal<String> threadLocalOSVersion = new ThreadLocal<>();
     private static final ThreadLocal<String> threadLocalBrowserVersion = new ThreadLocal<>();
     private static final ThreadLocal<String> threadLocalDeviceName = new ThreadLocal<>();
+    // Target of this <test>; copied onto whichever thread runs each scenario
+    private String browser;
+    private String os;
+    private String osVersion;
+    private String browserVersion;
+    private String deviceName;
 
     @Parameters({"browser", "os", "osVersion", "browserVersion", "deviceName"})
     @BeforeClass(alwaysRun = true)
@@ -35,16 +48,42 @@ public class BrowserStackRunner extends AbstractTestNGCucumberTests {
                       @Optional("11") String osVersion,
                       @Optional("latest") String browserVersion,
                       @Optional("") String deviceName) {
-        threadLocalBrowser.set(browser);
-        threadLocalOS.set(os);
-        threadLocalOSVersion.set(osVersion);
-        threadLocalBrowserVersion.set(browserVersion);
-        threadLocalDeviceName.set(deviceName);
+        this.browser = browser;
+        this.os = os;
+        this.osVersion = osVersion;
+        this.browserVersion = browserVersion;
+        this.deviceName = deviceName;
+        applyTarget();
         logger.info("Browser in this thread: " + browser);
         logger.info("OS selected in this thread: " + os);
         logger.info("OS Version  in this thread: " + osVersion);
         logger.info("Browser Version selected in this thread: " + browserVersion);
         logger.info("Device Name selected in this thread: " + deviceName);
+        DriverManager.warmUp(ConfigReader.getBrowser());
+    }
+
+    @Override
+    @Test(groups = "cucumber", description = "Runs Cucumber Scenarios", dataProvider = "scenarios",
+            retryAnalyzer = InfrastructureRetryAnalyzer.class)
+    public void runScenario(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) {
+        applyTarget(); // Scenarios may run on data provider pool threads
+        try {
+            super.runScenario(pickleWrapper, featureWrapper);
+        } finally {
+            threadLocalBrowser.remove();
+            threadLocalOS.remove();
+            threadLocalOSVersion.remove();
+            threadLocalBrowserVersion.remove();
+            threadLocalDeviceName.remove();
+        }
+    }
+
+    private void applyTarget() {
+        threadLocalBrowser.set(browser);
+        threadLocalOS.set(os);
+        threadLocalOSVersion.set(osVersion);
+        threadLocalBrowserVersion.set(browserVersion);
+        threadLocalDeviceName.set(deviceName);
     }
 
     public static String getBrowser() {
@@ -67,4 +106,10 @@ public class BrowserStackRunner extends AbstractTestNGCucumberTests {
         return threadLocalDeviceName.get();
     }
 
+    @AfterSuite(alwaysRun = true)
+    public void tearDownSuite() {
+        DriverManager.shutdown();
+        InfrastructureRetryAnalyzer.report();
+    }
+
 }
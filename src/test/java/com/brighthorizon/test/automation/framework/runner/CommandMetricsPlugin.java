@@ -0,0 +1,36 @@
+package com.brighthorizon.test.automation.framework.runner;
+
+import com.brighthorizon.test.automation.framework.core.CommandMetrics;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+
+/**
+ * Tells {@link CommandMetrics} which scenario and step the WebDriver commands of the current thread belong to.
+ * Cucumber publishes these events on the thread that runs the scenario.
+ */
+public class CommandMetricsPlugin implements ConcurrentEventListener {
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        // Always tracked, as command-metrics-enabled may be switched on by a configuration reload
+        publisher.registerHandlerFor(TestCaseStarted.class, event -> CommandMetrics.setScenario(event.getTestCase().getName()));
+        publisher.registerHandlerFor(TestCaseFinished.class, event -> CommandMetrics.setScenario(null));
+        publisher.registerHandlerFor(TestStepStarted.class, this::stepStarted);
+        publisher.registerHandlerFor(TestStepFinished.class, event -> CommandMetrics.setStep(null));
+    }
+
+    private void stepStarted(TestStepStarted event) {
+        if (event.getTestStep() instanceof PickleStepTestStep) {
+            PickleStepTestStep step = (PickleStepTestStep) event.getTestStep();
+            CommandMetrics.setStep(step.getStep().getKeyword() + step.getStep().getText());
+        } else if (event.getTestStep() instanceof HookTestStep) {
+            CommandMetrics.setStep(((HookTestStep) event.getTestStep()).getHookType() + " hook");
+        }
+    }
+}
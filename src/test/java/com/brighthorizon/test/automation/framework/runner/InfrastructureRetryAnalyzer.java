@@ -0,0 +1,70 @@
+package com.brighthorizon.test.automation.framework.runner;
+
+import com.brighthorizon.test.automation.framework.config.ConfigReader;
+import com.brighthorizon.test.automation.framework.core.DriverManager;
+import com.brighthorizon.test.automation.framework.reporting.ReportManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Re-runs a scenario when it failed because its browser session was lost (node recycled, session timed out,
+ * hub unreachable), not because of an assertion. These retries are recorded apart from test failures.
+ */
+public class InfrastructureRetryAnalyzer implements IRetryAnalyzer {
+
+    public static final String RETRY_ATTRIBUTE = "infrastructure-retry";
+    private static final Logger logger = LogManager.getLogger(InfrastructureRetryAnalyzer.class);
+    private static final Queue<String> infrastructureRetries = new ConcurrentLinkedQueue<>();
+
+    private int attempts;
+
+    @Override
+    public boolean retry(ITestResult result) {
+        if (!DriverManager.isSessionLost(result.getThrowable()) || attempts >= getMaxRetries()) {
+            return false;
+        }
+        attempts++;
+        String scenario = result.getParameters().length > 0 ? String.valueOf(result.getParameters()[0]) : result.getName();
+        Throwable rootCause = result.getThrowable();
+        while (rootCause.getCause() != null) {
+            rootCause = rootCause.getCause();
+        }
+        String cause = rootCause.getClass().getSimpleName();
+        result.setAttribute(RETRY_ATTRIBUTE, cause);
+        infrastructureRetries.add(String.format("%s [%s] attempt %d: %s", scenario, result.getTestContext().getName(), attempts, cause));
+        logger.warn("Browser session lost in {} ({}). Re-running on a fresh session (retry {}/{}).",
+                scenario, cause, attempts, getMaxRetries());
+        return true;
+    }
+
+    /**
+     * Logs and writes the infrastructure retries of this run. They are not counted as test failures.
+     */
+    public static void report() {
+        if (infrastructureRetries.isEmpty()) {
+            return;
+        }
+        StringBuilder report = new StringBuilder(String.format("Infrastructure retries: %d%n", infrastructureRetries.size()));
+        infrastructureRetries.forEach(entry -> report.append("  ").append(entry).append(System.lineSeparator()));
+        logger.info("\n{}", report);
+
+        String reportFile = ReportManager.getReportPath() + "/infrastructure-retries.txt";
+        try (Writer writer = new FileWriter(reportFile)) {
+            writer.write(report.toString());
+        } catch (IOException e) {
+            logger.warn("Failed to write infrastructure retry report {}: {}", reportFile, e.getMessage());
+        }
+    }
+
+    private static int getMaxRetries() {
+        return ConfigReader.snapshot().getInt("session-loss-retries", 1);
+    }
+}
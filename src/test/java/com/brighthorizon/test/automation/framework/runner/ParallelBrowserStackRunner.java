@@ -0,0 +1,37 @@
+package com.brighthorizon.test.automation.framework.runner;
+
+import io.cucumber.testng.FeatureWrapper;
+import io.cucumber.testng.PickleWrapper;
+import org.testng.ITestContext;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class ParallelBrowserStackRunner extends BrowserStackRunner {
+
+    private final ScenarioScheduler scheduler = new ScenarioScheduler();
+
+    // Runs the scenarios of each BrowserStack target concurrently, longest first; the worker count comes from ScenarioWorkerCountListener.
+    @Override
+    @DataProvider(parallel = true)
+    public Object[][] scenarios() {
+        return scheduler.longestFirst(super.scenarios());
+    }
+
+    @Override
+    @Test(groups = "cucumber", description = "Runs Cucumber Scenarios", dataProvider = "scenarios",
+            retryAnalyzer = InfrastructureRetryAnalyzer.class)
+    public void runScenario(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) {
+        long start = System.currentTimeMillis();
+        try {
+            super.runScenario(pickleWrapper, featureWrapper);
+        } finally {
+            scheduler.recordDuration(pickleWrapper, start, System.currentTimeMillis());
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void reportSchedule(ITestContext context) {
+        scheduler.report(context.getName(), context.getSuite().getXmlSuite().getDataProviderThreadCount());
+    }
+}
@@ -0,0 +1,207 @@
+package com.brighthorizon.test.automation.framework.runner;
+
+import com.brighthorizon.test.automation.framework.config.ConfigReader;
+import com.brighthorizon.test.automation.framework.reporting.ReportManager;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Orders a runner's scenarios longest-first using durations from earlier runs, so long scenarios
+ * do not start last and leave the other workers idle at the end of the run.
+ */
+public class ScenarioScheduler {
+
+    private static final Logger logger = LogManager.getLogger(ScenarioScheduler.class);
+    private static final String CUCUMBER_JSON = "target/cucumber-reports/cucumber.json";
+    // Loaded when the runner is instantiated, before Cucumber's json plugin truncates cucumber.json
+    private static final Map<String, Long> history = loadHistory();
+
+    private final Map<String, Long> predictedDurations = new HashMap<>();
+    private final Map<String, Long> actualDurations = new ConcurrentHashMap<>();
+    private final AtomicLong firstStart = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong lastEnd = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Sorts the data provider rows so the scenarios with the longest recorded duration are dispatched first.
+     * Scenarios without history are treated as the longest known ones.
+     *
+     * @param scenarios rows of {PickleWrapper, FeatureWrapper} from the Cucumber data provider
+     * @return the same rows in dispatch order
+     */
+    public Object[][] longestFirst(Object[][] scenarios) {
+        Map<String, Long> known;
+        synchronized (ScenarioScheduler.class) {
+            known = new HashMap<>(history);
+        }
+        long longestKnown = known.values().stream().mapToLong(Long::longValue).max().orElse(0);
+
+        for (Object[] row : scenarios) {
+            String key = key(((PickleWrapper) row[0]).getPickle());
+            predictedDurations.put(key, known.getOrDefault(key, longestKnown));
+        }
+
+        Object[][] ordered = Arrays.copyOf(scenarios, scenarios.length);
+        Arrays.sort(ordered, Comparator.comparingLong(
+                (Object[] row) -> predictedDurations.get(key(((PickleWrapper) row[0]).getPickle()))).reversed());
+        return ordered;
+    }
+
+    /**
+     * Records how long one scenario took in this run.
+     *
+     * @param pickleWrapper the scenario that ran
+     * @param startMillis   wall-clock start of the scenario
+     * @param endMillis     wall-clock end of the scenario
+     */
+    public void recordDuration(PickleWrapper pickleWrapper, long startMillis, long endMillis) {
+        actualDurations.put(key(pickleWrapper.getPickle()), endMillis - startMillis);
+        firstStart.accumulateAndGet(startMillis, Math::min);
+        lastEnd.accumulateAndGet(endMillis, Math::max);
+    }
+
+    /**
+     * Compares the predicted and the actual makespan, writes the report and folds this run's
+     * durations into the timing store.
+     *
+     * @param testName name of the TestNG test the runner belongs to
+     * @param workers  number of threads the scenarios were spread across
+     */
+    public void report(String testName, int workers) {
+        if (actualDurations.isEmpty()) {
+            return;
+        }
+
+        List<Long> dispatchOrder = new ArrayList<>(predictedDurations.values());
+        dispatchOrder.sort(Comparator.reverseOrder());
+        long predictedMakespan = simulateMakespan(dispatchOrder, workers);
+        long actualMakespan = lastEnd.get() - firstStart.get();
+        long longestScenario = actualDurations.values().stream().mapToLong(Long::longValue).max().orElse(0);
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Scenario schedule for '%s' (%d workers)%n", testName, workers));
+        report.append(String.format("Predicted makespan: %d ms%n", predictedMakespan));
+        report.append(String.format("Actual makespan:    %d ms%n", actualMakespan));
+        report.append(String.format("Longest scenario:   %d ms%n", longestScenario));
+        predictedDurations.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(entry -> report.append(String.format("  %-50s predicted %8d ms, actual %8s ms%n",
+                        entry.getKey(), entry.getValue(), actualDurations.getOrDefault(entry.getKey(), -1L))));
+        logger.info("\n{}", report);
+
+        String reportFile = ReportManager.getReportPath() + "/scenario-schedule-" + testName.replaceAll("\\W+", "_") + ".txt";
+        try (Writer writer = new FileWriter(reportFile)) {
+            writer.write(report.toString());
+        } catch (IOException e) {
+            logger.warn("Failed to write scenario schedule report {}: {}", reportFile, e.getMessage());
+        }
+
+        saveHistory(actualDurations);
+    }
+
+    /**
+     * Builds the timing key of a scenario: feature file name and scenario line.
+     */
+    static String key(Pickle pickle) {
+        return Paths.get(pickle.getUri().getSchemeSpecificPart()).getFileName() + ":" + pickle.getScenarioLine();
+    }
+
+    private static long simulateMakespan(List<Long> durations, int workers) {
+        PriorityQueue<Long> workerLoads = new PriorityQueue<>();
+        for (int i = 0; i < Math.max(1, workers); i++) {
+            workerLoads.add(0L);
+        }
+        for (long duration : durations) {
+            workerLoads.add(workerLoads.poll() + duration);
+        }
+        return workerLoads.stream().mapToLong(Long::longValue).max().orElse(0);
+    }
+
+    private static Map<String, Long> loadHistory() {
+        Map<String, Long> loaded = new HashMap<>();
+        File store = new File(getStorePath());
+        if (store.exists()) {
+            Properties properties = new Properties();
+            try (Reader reader = new FileReader(store)) {
+                properties.load(reader);
+                properties.forEach((key, value) -> loaded.put((String) key, Long.parseLong((String) value)));
+                logger.info("Loaded {} scenario timing(s) from {}.", loaded.size(), store);
+            } catch (IOException | NumberFormatException e) {
+                logger.warn("Failed to read scenario timings from {}: {}", store, e.getMessage());
+            }
+        } else {
+            seedFromCucumberJson(loaded);
+        }
+        return loaded;
+    }
+
+    private static void seedFromCucumberJson(Map<String, Long> target) {
+        File json = new File(CUCUMBER_JSON);
+        if (!json.exists()) {
+            return;
+        }
+        try {
+            for (JsonNode feature : new ObjectMapper().readTree(json)) {
+                String fileName = Paths.get(feature.path("uri").asText().replaceFirst("^\\w+:", "")).getFileName().toString();
+                for (JsonNode element : feature.path("elements")) {
+                    if (!"scenario".equals(element.path("type").asText())) {
+                        continue;
+                    }
+                    long nanos = 0;
+                    for (String section : new String[]{"before", "steps", "after"}) {
+                        for (JsonNode step : element.path(section)) {
+                            nanos += step.path("result").path("duration").asLong(0);
+                        }
+                    }
+                    target.put(fileName + ":" + element.path("line").asInt(), nanos / 1_000_000);
+                }
+            }
+            logger.info("Seeded {} scenario timing(s) from {}.", target.size(), CUCUMBER_JSON);
+        } catch (IOException e) {
+            logger.warn("Failed to read scenario timings from {}: {}", CUCUMBER_JSON, e.getMessage());
+        }
+    }
+
+    private static synchronized void saveHistory(Map<String, Long> latest) {
+        // Blend with earlier runs so a single slow run does not reorder the whole schedule
+        latest.forEach((key, duration) -> history.merge(key, duration, (previous, current) -> (previous + current) / 2));
+
+        Properties properties = new Properties();
+        history.forEach((key, value) -> properties.setProperty(key, String.valueOf(value)));
+        File store = new File(getStorePath());
+        if (store.getParentFile() != null) {
+            store.getParentFile().mkdirs();
+        }
+        try (Writer writer = new FileWriter(store)) {
+            properties.store(writer, "Scenario durations in milliseconds");
+        } catch (IOException e) {
+            logger.warn("Failed to save scenario timings to {}: {}", store, e.getMessage());
+        }
+    }
+
+    private static String getStorePath() {
+        String path = ConfigReader.getGlobal("scenario-timings-file");
+        return path == null || path.isBlank() ? "reports/scenario-timings.properties" : path.trim();
+    }
+}
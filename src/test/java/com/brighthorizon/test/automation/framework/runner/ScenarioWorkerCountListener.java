@@ -0,0 +1,30 @@
+package com.brighthorizon.test.automation.framework.runner;
+
+import com.brighthorizon.test.automation.framework.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * Sets the number of threads each parallel runner uses for its scenarios.
+ * The -Dscenario-worker-count system property wins over scenario-worker-count in config.properties.
+ */
+public class ScenarioWorkerCountListener implements IAlterSuiteListener {
+
+    private static final Logger logger = LogManager.getLogger(ScenarioWorkerCountListener.class);
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        String workerCount = System.getProperty("scenario-worker-count", ConfigReader.getGlobal("scenario-worker-count"));
+        if (workerCount == null || workerCount.isBlank()) {
+            return;
+        }
+        for (XmlSuite suite : suites) {
+            suite.setDataProviderThreadCount(Integer.parseInt(workerCount.trim()));
+            logger.info("Scenario workers per test in suite '{}': {}", suite.getName(), workerCount.trim());
+        }
+    }
+}
@@ -1,13 +1,18 @@
 package com.brighthorizon.test.automation.framework.runner;
 
 import com.brighthorizon.test.automation.framework.config.ConfigReader;
+import com.brighthorizon.test.automation.framework.core.DriverManager;
 import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.FeatureWrapper;
+import io.cucumber.testng.PickleWrapper;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Optional;
 import org.testng.annotations.Parameters;
+import org.testng.annotations.Test;
 
 @CucumberOptions(
         features = "src/test/resources/feature-files",
@@ -17,7 +22,8 @@ import org.testng.annotations.Parameters;
                 "html:target/cucumber-reports/cucumber-html-report.html",
                 "json:target/cucumber-reports/cucumber.json",
                 "junit:target/cucumber-reports/cucumber.xml",
-                "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm"
+                "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm",
+                "com.brighthorizon.test.automation.framework.runner.CommandMetricsPlugin"
         },
         tags = "@smoke",
         monochrome = true
@@ -25,6 +31,7 @@ import org.testng.annotations.Parameters;
 public class TestRunner extends AbstractTestNGCucumberTests {
     private static final Logger logger = LogManager.getLogger(TestRunner.class);
     private static final ThreadLocal<String> threadLocalBrowser = new ThreadLocal<>();
+    private String browser; // Browser of this <test>; copied onto whichever thread runs each scenario
 
     @Parameters("browser")
     @BeforeClass(alwaysRun = true)
@@ -37,10 +44,32 @@ public class TestRunner extends AbstractTestNGCucumberTests {
         {
             logger.info("Browser Provided in TestNg Xml for this thread -:" + browser);
         }
+        this.browser = browser;
         threadLocalBrowser.set(browser); // Store browser parameter for the current thread
+        if (!ConfigReader.getGlobal("execution-platform").equalsIgnoreCase("cloud")) {
+            DriverManager.warmUp(browser); // Boot pre-spawned sessions while Cucumber loads the features
+        }
+    }
+
+    @Override
+    @Test(groups = "cucumber", description = "Runs Cucumber Scenarios", dataProvider = "scenarios",
+            retryAnalyzer = InfrastructureRetryAnalyzer.class)
+    public void runScenario(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) {
+        threadLocalBrowser.set(browser); // Scenarios may run on data provider pool threads
+        try {
+            super.runScenario(pickleWrapper, featureWrapper);
+        } finally {
+            threadLocalBrowser.remove();
+        }
     }
 
     public static String getBrowser() {
         return threadLocalBrowser.get(); // Retrieve browser parameter for the current thread
     }
+
+    @AfterSuite(alwaysRun = true)
+    public void tearDownSuite() {
+        DriverManager.shutdown(); // Quit pooled sessions once every browser test has finished
+        InfrastructureRetryAnalyzer.report();
+    }
 }
\ No newline at end of file
@@ -1,18 +1,25 @@
 package com.brighthorizon.test.automation.framework.unittests;
 
 
+import com.brighthorizon.test.automation.framework.utils.misc.LatencyBudget;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.MutableCapabilities;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.remote.RemoteWebDriver;
 
 
 import java.net.URL;
+import java.time.Duration;
 import java.util.HashMap;
 
 public class BrowserStackTimeoutTest {
 
+    private static final Logger logger = LogManager.getLogger(BrowserStackTimeoutTest.class);
+
     public static void main(String[] args) {
         WebDriver driver = null;
+        LatencyBudget.startScenario("BrowserStack session timeout check");
 
         try {
             // Set up capabilities
@@ -47,7 +54,7 @@ public class BrowserStackTimeoutTest {
 
             // Simulate a wait to check session stability
             System.out.println("Simulating a delay to test session timeout...");
-            Thread.sleep(10000); // Wait for 10 seconds (adjust if needed)
+            LatencyBudget.sleep(Duration.ofSeconds(10)); // Idle on purpose; booked as sleep in the summary below
             System.out.println("Test completed successfully.");
 
         } catch (Exception e) {
@@ -58,6 +65,10 @@ public class BrowserStackTimeoutTest {
                 driver.quit();
                 System.out.println("BrowserStack session terminated.");
             }
+            String latencySummary = LatencyBudget.endScenario();
+            if (latencySummary != null) {
+                logger.info(latencySummary);
+            }
         }
     }
 }
@@ -0,0 +1,92 @@
+package com.brighthorizon.test.automation.framework.unittests;
+
+import com.brighthorizon.test.automation.framework.utils.selenium.ElementSnapshot;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts WebDriver round trips needed to validate every center card of a generated result list,
+ * reading each card element by element versus one {@link ElementSnapshot#readAll} call.
+ * Usage: BulkReadBenchmark [card counts, comma-separated]
+ */
+public class BulkReadBenchmark {
+    public static void main(String[] args) throws Exception {
+        String[] sizes = (args.length > 0 ? args[0] : "10,50,200").split(",");
+
+        WebDriverManager.chromedriver().setup();
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--headless=new");
+        AtomicInteger roundTrips = new AtomicInteger();
+        WebDriver driver = new EventFiringDecorator<>(new WebDriverListener() {
+            @Override
+            public void beforeAnyCall(Object target, Method method, Object[] arguments) {
+                roundTrips.incrementAndGet();
+            }
+        }).decorate(new ChromeDriver(options));
+
+        System.out.printf("%8s %22s %22s %12s %12s%n", "cards", "per-element trips", "snapshot trips", "per-element ms", "snapshot ms");
+        try {
+            for (String size : sizes) {
+                int cards = Integer.parseInt(size.trim());
+                driver.get(writeResultsPage(cards).toUri().toString());
+
+                roundTrips.set(0);
+                long start = System.nanoTime();
+                int perElementValid = 0;
+                List<WebElement> centers = driver.findElements(By.cssSelector("#center-results-container div.centerResult"));
+                for (WebElement center : centers) {
+                    String name = center.findElement(By.xpath(".//h3[contains(@class, 'centerResult__name')]")).getText();
+                    String address = center.findElement(By.xpath(".//span[contains(@class, 'centerResult__address')]")).getText();
+                    if (center.isDisplayed() && !name.isEmpty() && !address.isEmpty()) {
+                        perElementValid++;
+                    }
+                }
+                long perElementMillis = (System.nanoTime() - start) / 1_000_000;
+                int perElementTrips = roundTrips.get();
+
+                roundTrips.set(0);
+                start = System.nanoTime();
+                int snapshotValid = 0;
+                for (ElementSnapshot center : ElementSnapshot.readAll(driver, "#center-results-container div.centerResult", Map.of(
+                        "name", "h3[class*='centerResult__name']", "address", "span[class*='centerResult__address']"))) {
+                    if (center.isVisible() && !center.getChildText("name").isEmpty() && !center.getChildText("address").isEmpty()) {
+                        snapshotValid++;
+                    }
+                }
+                long snapshotMillis = (System.nanoTime() - start) / 1_000_000;
+
+                if (perElementValid != snapshotValid) {
+                    throw new AssertionError("Readers disagree: " + perElementValid + " vs " + snapshotValid);
+                }
+                System.out.printf("%8d %22d %22d %12d %12d%n", cards, perElementTrips, roundTrips.get(), perElementMillis, snapshotMillis);
+            }
+        } finally {
+            driver.quit();
+        }
+    }
+
+    private static Path writeResultsPage(int cards) throws Exception {
+        StringBuilder html = new StringBuilder("<html><body><span class='resultsNumber'>" + cards + "</span><div id='center-results-container'>");
+        for (int i = 1; i <= cards; i++) {
+            html.append("<div class='centerResult'><h3 class='centerResult__name'>Center ").append(i)
+                    .append("</h3><span class='centerResult__address'>").append(i).append(" Main St, New York, NY</span></div>");
+        }
+        html.append("</div></body></html>");
+        Path page = Files.createTempFile("center-results-", ".html");
+        page.toFile().deleteOnExit();
+        return Files.writeString(page, html);
+    }
+}
@@ -0,0 +1,66 @@
+package com.brighthorizon.test.automation.framework.unittests;
+
+import com.brighthorizon.test.automation.framework.config.ConfigSnapshot;
+import org.openqa.selenium.PageLoadStrategy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Builds a snapshot from temporary files and checks the lookup precedence: browserstack.* settings come from
+ * config-browserstack.properties before a global value of the same key, other keys take the global value, and
+ * enum values are parsed once per snapshot.
+ */
+public class ConfigSnapshotCheck {
+
+    public static void main(String[] args) throws Exception {
+        Path directory = Files.createTempDirectory("config-snapshot-check");
+        try {
+            Files.writeString(directory.resolve("config.properties"), String.join("\n",
+                    "env=qa",
+                    "execution-platform=cloud",
+                    "cloud-provider=browserstack",
+                    "browserstack.maxSessions=9",
+                    "browserstack.queueTimeoutSeconds=42",
+                    "page-load-strategy=eager"));
+            Files.writeString(directory.resolve("qa.properties"), "url=https://example.com\n");
+            Files.writeString(directory.resolve("config-browserstack.properties"), String.join("\n",
+                    "browserstack.maxSessions=2",
+                    "browserstack.retryBackoffMs="));
+
+            ConfigSnapshot snapshot = ConfigSnapshot.load(directory).validate();
+            check(snapshot.getBrowserStackInt("browserstack.maxSessions", 5) == 2,
+                    "the BrowserStack file must win over a global browserstack.maxSessions");
+            check(snapshot.getInt("browserstack.maxSessions", 5) == 9,
+                    "the typed accessors must keep environment over global over BrowserStack");
+            check(snapshot.getBrowserStackInt("browserstack.queueTimeoutSeconds", 600) == 42,
+                    "a key the BrowserStack file does not set must fall back to the global value");
+            check(snapshot.getBrowserStackInt("browserstack.retryBackoffMs", 5000) == 5000,
+                    "a blank BrowserStack value without a global one must give the default");
+
+            PageLoadStrategy first = snapshot.getEnum("page-load-strategy", PageLoadStrategy.class, PageLoadStrategy.NORMAL);
+            check(first == PageLoadStrategy.EAGER, "page-load-strategy must parse as EAGER but was " + first);
+            long start = System.nanoTime();
+            int lookups = 1_000_000;
+            for (int i = 0; i < lookups; i++) {
+                if (snapshot.getEnum("page-load-strategy", PageLoadStrategy.class, PageLoadStrategy.NORMAL) != first) {
+                    throw new AssertionError("Cached enum lookup returned a different constant");
+                }
+            }
+            System.out.printf("Precedence checks passed; %d cached enum lookups took %.1f ns each%n",
+                    lookups, (System.nanoTime() - start) / (double) lookups);
+        } finally {
+            try (Stream<Path> files = Files.list(directory)) {
+                files.forEach(file -> file.toFile().delete());
+            }
+            Files.delete(directory);
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
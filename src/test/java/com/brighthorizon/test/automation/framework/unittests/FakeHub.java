@@ -0,0 +1,112 @@
+package com.brighthorizon.test.automation.framework.unittests;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A stand-in WebDriver hub on a local port that only creates and deletes sessions. It allows a number of
+ * concurrent sessions and rejects further ones the way BrowserStack does when every parallel is in use.
+ * Queued rejections can also be given an arbitrary message, e.g. to check that other errors are not retried.
+ */
+public class FakeHub implements AutoCloseable {
+
+    static final String CAPACITY_MESSAGE = "All parallel tests are currently in use, including the queued tests.";
+
+    private final HttpServer server;
+    private final int capacity;
+    private final List<String> queuedRejections = Collections.synchronizedList(new ArrayList<>());
+    private final List<Long> sessionRequestTimes = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger openSessions = new AtomicInteger();
+    private final AtomicInteger maxOpenSessions = new AtomicInteger();
+    private final AtomicInteger rejected = new AtomicInteger();
+
+    public FakeHub(int capacity) throws IOException {
+        this.capacity = capacity;
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public String getHubUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/wd/hub";
+    }
+
+    /**
+     * Rejects the next new-session request with the message, ahead of any capacity check.
+     */
+    public void rejectNext(String message) {
+        queuedRejections.add(message);
+    }
+
+    public int getMaxOpenSessions() {
+        return maxOpenSessions.get();
+    }
+
+    public int getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Gets the System.nanoTime of every new-session request, accepted or not.
+     */
+    public List<Long> getSessionRequestTimes() {
+        synchronized (sessionRequestTimes) {
+            return new ArrayList<>(sessionRequestTimes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String method = exchange.getRequestMethod();
+        exchange.getRequestBody().readAllBytes();
+        if ("POST".equals(method) && path.endsWith("/session")) {
+            sessionRequestTimes.add(System.nanoTime());
+            String rejection = queuedRejections.isEmpty() ? null : queuedRejections.remove(0);
+            if (rejection == null && openSessions.incrementAndGet() > capacity) {
+                openSessions.decrementAndGet();
+                rejection = CAPACITY_MESSAGE;
+            }
+            if (rejection != null) {
+                rejected.incrementAndGet();
+                respond(exchange, 500, "{\"value\":{\"error\":\"session not created\",\"message\":\""
+                        + rejection.replace("\"", "'") + "\",\"stacktrace\":\"\"}}");
+                return;
+            }
+            maxOpenSessions.accumulateAndGet(openSessions.get(), Math::max);
+            respond(exchange, 200, "{\"value\":{\"sessionId\":\"" + UUID.randomUUID()
+                    + "\",\"capabilities\":{\"browserName\":\"chrome\"}}}");
+        } else if ("DELETE".equals(method) && path.matches(".*/session/[^/]+")) {
+            openSessions.decrementAndGet();
+            respond(exchange, 200, "{\"value\":null}");
+        } else {
+            respond(exchange, 404, "{\"value\":{\"error\":\"unknown command\",\"message\":\"" + method + " " + path
+                    + "\",\"stacktrace\":\"\"}}");
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
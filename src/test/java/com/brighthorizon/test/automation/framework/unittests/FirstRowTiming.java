@@ -0,0 +1,87 @@
+package com.brighthorizon.test.automation.framework.unittests;
+
+import com.brighthorizon.test.automation.framework.utils.testdata.TestDataLoader;
+import com.brighthorizon.test.automation.framework.utils.testdata.TestDataRows;
+import org.testng.SkipException;
+import org.testng.TestNG;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Times how long a TestNG run takes to start its first data row test, with the rows from {@link TestDataRows}
+ * behind a sequential and a parallel provider. The row classes only have data while {@link #time} runs them;
+ * picked up by any other run, e.g. a test class scan, they skip.
+ */
+public final class FirstRowTiming {
+
+    private static volatile Path dataFile;
+    private static volatile long runStarted;
+    private static volatile long firstTestStarted;
+
+    private FirstRowTiming() {
+    }
+
+    public static class SequentialRows {
+        @DataProvider(name = "rows")
+        public Iterator<Object[]> rows() {
+            return openRows();
+        }
+
+        @Test(dataProvider = "rows")
+        public void row(Map<String, Object> row) {
+            recordFirstTest();
+        }
+    }
+
+    public static class ParallelRows {
+        @DataProvider(name = "rows", parallel = true)
+        public Iterator<Object[]> rows() {
+            return openRows();
+        }
+
+        @Test(dataProvider = "rows")
+        public void row(Map<String, Object> row) {
+            recordFirstTest();
+        }
+    }
+
+    /**
+     * Runs the all_positive rows of the file through the row class in a new TestNG run.
+     *
+     * @param file     the scenario file
+     * @param rowClass {@link SequentialRows} or {@link ParallelRows}
+     * @return milliseconds from the start of the run until its first row test started
+     */
+    public static double time(Path file, Class<?> rowClass) {
+        dataFile = file;
+        firstTestStarted = 0;
+        try {
+            TestNG testng = new TestNG(false);
+            testng.setTestClasses(new Class[]{rowClass});
+            testng.setVerbose(0);
+            runStarted = System.nanoTime();
+            testng.run();
+            return (firstTestStarted - runStarted) / 1e6;
+        } finally {
+            dataFile = null;
+        }
+    }
+
+    private static Iterator<Object[]> openRows() {
+        Path file = dataFile;
+        if (file == null) {
+            throw new SkipException("No data file; rows are only timed through FirstRowTiming.time");
+        }
+        return TestDataRows.of(TestDataLoader.iterateTestData(file, "all_positive"));
+    }
+
+    private static synchronized void recordFirstTest() {
+        if (firstTestStarted == 0) {
+            firstTestStarted = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.brighthorizon.test.automation.framework.unittests;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Serves static fixture pages on a local port, by default those under src/test/resources/fixtures/http-mode.
+ * /find-a-center redirects to /child-care-locator, and /search?q=... serves search-&lt;slug&gt;.html,
+ * search-all.html for an empty query, or search-no-results.html.
+ * /asset/...?kb=N serves N kilobytes of filler with a content type derived from the extension.
+ */
+public class FixtureServer implements AutoCloseable {
+
+    private final Path fixtures;
+    private final HttpServer server;
+
+    public FixtureServer() throws IOException {
+        this(Paths.get("src/test/resources/fixtures/http-mode"));
+    }
+
+    public FixtureServer(Path fixtures) throws IOException {
+        this.fixtures = fixtures;
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (path.equals("/find-a-center")) {
+            exchange.getResponseHeaders().add("Location", "/child-care-locator");
+            exchange.sendResponseHeaders(302, -1);
+            exchange.getResponseBody().close();
+            return;
+        }
+        if (path.startsWith("/asset/")) {
+            serveAsset(exchange, path);
+            return;
+        }
+
+        Path page;
+        if (path.equals("/")) {
+            page = fixtures.resolve("index.html");
+        } else if (path.equals("/search")) {
+            page = searchPage(exchange.getRequestURI().getRawQuery());
+        } else {
+            page = fixtures.resolve(path.substring(1) + ".html");
+        }
+
+        if (!Files.isRegularFile(page)) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        byte[] body = Files.readAllBytes(page);
+        exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void serveAsset(HttpExchange exchange, String path) throws IOException {
+        int kilobytes = 1;
+        String rawQuery = exchange.getRequestURI().getRawQuery();
+        if (rawQuery != null && rawQuery.startsWith("kb=")) {
+            kilobytes = Math.max(1, Integer.parseInt(rawQuery.substring(3)));
+        }
+        String extension = path.substring(path.lastIndexOf('.') + 1);
+        String contentType;
+        switch (extension) {
+            case "js":
+                contentType = "text/javascript";
+                break;
+            case "css":
+                contentType = "text/css";
+                break;
+            case "html":
+                contentType = "text/html";
+                break;
+            case "png":
+            case "jpg":
+            case "gif":
+                contentType = "image/" + extension;
+                break;
+            case "woff2":
+                contentType = "font/woff2";
+                break;
+            default:
+                contentType = "application/octet-stream";
+        }
+        // Comment filler keeps scripts and stylesheets valid; other types are never parsed successfully anyway
+        byte[] body = new byte[kilobytes * 1024];
+        Arrays.fill(body, (byte) ' ');
+        if (contentType.startsWith("text/")) {
+            body[0] = '/';
+            body[1] = '*';
+            body[body.length - 2] = '*';
+            body[body.length - 1] = '/';
+        }
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.getResponseHeaders().add("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private Path searchPage(String rawQuery) {
+        String query = "";
+        if (rawQuery != null) {
+            for (String parameter : rawQuery.split("&")) {
+                if (parameter.startsWith("q=")) {
+                    query = URLDecoder.decode(parameter.substring(2), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        if (query.isBlank()) {
+            return fixtures.resolve("search-all.html");
+        }
+        String slug = query.toLowerCase().replaceAll("[^a-z0-9]+", "-").replaceAll("^-|-$", "");
+        Path page = fixtures.resolve("search-" + slug + ".html");
+        return !slug.isEmpty() && Files.isRegularFile(page) ? page : fixtures.resolve("search-no-results.html");
+    }
+}
@@ -0,0 +1,49 @@
+package com.brighthorizon.test.automation.framework.unittests;
+
+import com.brighthorizon.test.automation.framework.utils.http.HttpPageClient;
+import com.brighthorizon.test.web.pagebojects.BrightHorizonsHttpPage;
+
+/**
+ * Runs the @http-capable steps against the local fixture pages and prints how long each check took.
+ */
+public class HttpModeFixtureCheck {
+    public static void main(String[] args) throws Exception {
+        try (FixtureServer server = new FixtureServer(); HttpPageClient client = new HttpPageClient()) {
+            BrightHorizonsHttpPage page = new BrightHorizonsHttpPage(client);
+            String home = server.getBaseUrl() + "/";
+
+            long start = System.nanoTime();
+            page.open(home);
+            page.clickFindCenterOption();
+            if (!page.isCorrectURLDisplayed()) {
+                throw new AssertionError("Redirect to /child-care-locator was not followed: " + client.getCurrentUrl());
+            }
+            System.out.println("Find a Center URL check passed: " + client.getCurrentUrl() + elapsed(start));
+
+            start = System.nanoTime();
+            page.open(home);
+            page.enterSearchText("Employee Education in 2018: Strategies to Watch");
+            page.clickSearchButton();
+            page.verifyFirstSearchResultDynamically("Employee Education in 2018: Strategies to Watch", 0);
+            System.out.println("Exact match search passed" + elapsed(start));
+
+            start = System.nanoTime();
+            page.open(home);
+            page.enterSearchText("InvalidSearchQuery12345!@#");
+            page.clickSearchButton();
+            page.verifyNoResultsMessage("No results found");
+            System.out.println("No results search passed" + elapsed(start));
+
+            start = System.nanoTime();
+            page.open(home);
+            page.clearSearchField();
+            page.clickSearchButton();
+            page.verifySearchResultsDisplayed();
+            System.out.println("Empty search passed" + elapsed(start));
+        }
+    }
+
+    private static String elapsed(long startNanos) {
+        return String.format(" (%d ms)", (System.nanoTime() - startNanos) / 1_000_000);
+    }
+}
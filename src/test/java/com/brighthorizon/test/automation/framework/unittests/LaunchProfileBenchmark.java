@@ -0,0 +1,101 @@
+package com.brighthorizon.test.automation.framework.unittests;
+
+import com.brighthorizon.test.automation.framework.core.LaunchProfile;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares startup time and resident memory of the default and performance launch profiles per browser.
+ * Usage: LaunchProfileBenchmark [browsers, comma-separated] [iterations] [url]. RSS is read from /proc (Linux only)
+ * and covers the driver and browser processes started by this JVM.
+ */
+public class LaunchProfileBenchmark {
+    public static void main(String[] args) throws Exception {
+        String[] browsers = (args.length > 0 ? args[0] : "chrome,firefox,edge").split(",");
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        String url = args.length > 2 ? args[2] : "https://www.brighthorizons.com/";
+
+        System.out.printf("%-8s %-12s %14s %14s %14s%n", "browser", "profile", "startup ms", "first load ms", "RSS MB");
+        for (String browser : browsers) {
+            for (String profile : new String[]{LaunchProfile.DEFAULT, LaunchProfile.PERFORMANCE}) {
+                long startupTotal = 0;
+                long loadTotal = 0;
+                long rssTotal = 0;
+                for (int i = 0; i < iterations; i++) {
+                    long start = System.nanoTime();
+                    WebDriver driver = startBrowser(browser.trim(), profile);
+                    long started = System.nanoTime();
+                    try {
+                        driver.get(url);
+                        loadTotal += (System.nanoTime() - started) / 1_000_000;
+                        startupTotal += (started - start) / 1_000_000;
+                        rssTotal += childProcessRssKb();
+                    } finally {
+                        driver.quit();
+                    }
+                }
+                System.out.printf("%-8s %-12s %14d %14d %14d%n", browser, profile,
+                        startupTotal / iterations, loadTotal / iterations, rssTotal / iterations / 1024);
+            }
+        }
+        LaunchProfile.cleanUp();
+    }
+
+    // Mirrors the local-driver-manager options of DriverManager
+    private static WebDriver startBrowser(String browser, String profile) {
+        switch (browser) {
+            case "chrome":
+                WebDriverManager.chromedriver().setup();
+                ChromeOptions chromeOptions = new ChromeOptions();
+                chromeOptions.addArguments("--disable-geolocation", "--use-fake-ui-for-media-stream");
+                return new ChromeDriver(LaunchProfile.applyTo(chromeOptions, profile));
+            case "firefox":
+                WebDriverManager.firefoxdriver().setup();
+                FirefoxOptions firefoxOptions = new FirefoxOptions();
+                firefoxOptions.addPreference("geo.enabled", false);
+                firefoxOptions.addPreference("permissions.default.geo", 2);
+                return new FirefoxDriver(LaunchProfile.applyTo(firefoxOptions, profile));
+            case "edge":
+                WebDriverManager.edgedriver().setup();
+                EdgeOptions edgeOptions = new EdgeOptions();
+                edgeOptions.addArguments("--disable-geolocation");
+                return new EdgeDriver(LaunchProfile.applyTo(edgeOptions, profile));
+            default:
+                throw new IllegalArgumentException("Unsupported browser: " + browser);
+        }
+    }
+
+    private static long childProcessRssKb() {
+        long total = 0;
+        for (long pid : descendants(ProcessHandle.current().pid())) {
+            try {
+                for (String line : Files.readAllLines(Paths.get("/proc", String.valueOf(pid), "status"))) {
+                    if (line.startsWith("VmRSS:")) {
+                        total += Long.parseLong(line.replaceAll("\\D+", ""));
+                    }
+                }
+            } catch (IOException e) {
+                // Process exited while being measured
+            }
+        }
+        return total;
+    }
+
+    private static List<Long> descendants(long pid) {
+        List<Long> result = new ArrayList<>();
+        ProcessHandle.of(pid).ifPresent(handle -> handle.descendants().forEach(child -> result.add(child.pid())));
+        return result;
+    }
+}
@@ -0,0 +1,102 @@
+package com.brighthorizon.test.automation.framework.unittests;
+
+import com.brighthorizon.test.automation.framework.reporting.LogSetup;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of step-style log calls with the default log4j2.xml (sync) and log4j2-async.xml (async)
+ * at 1, 4 and 16 logging threads. Console output is discarded inside the benchmark fork; the file appenders write
+ * to logs/ as in a real run.
+ * Usage: LoggingThroughputBenchmark [thread counts, comma-separated]
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggingThroughputBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class LogMode {
+        @Param({LogSetup.SYNC, LogSetup.ASYNC})
+        public String mode;
+        Logger logger;
+
+        @Setup(Level.Trial)
+        public void configure() {
+            // Before Log4j starts: the console appender keeps the stream it finds first
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            System.setProperty("projectName", "Benchmark");
+            System.setProperty("applicationName", "Logging");
+            System.setProperty("buildName", mode);
+            // Re-resolve the file names with the properties above, then switch to the mode under test
+            Configurator.reconfigure();
+            LogSetup.applyLogMode(mode);
+            logger = LogManager.getLogger(LoggingThroughputBenchmark.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void shutdown() {
+            LogManager.shutdown();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Scenario {
+        long step;
+
+        @Setup(Level.Trial)
+        public void enterScenario() {
+            ThreadContext.put("scenario", "Benchmark scenario " + Thread.currentThread().getId());
+            ThreadContext.put("browser", "chrome");
+            ThreadContext.put("thread", Thread.currentThread().getName());
+        }
+    }
+
+    /**
+     * Step work between two log calls, in Blackhole tokens. 0 measures a saturated logger; with work the ring buffer
+     * drains between calls, which is how a scenario logs.
+     */
+    @Param({"0", "20000"})
+    public int work;
+
+    @Benchmark
+    public void logStep(LogMode logMode, Scenario scenario) {
+        Blackhole.consumeCPU(work);
+        logMode.logger.info("Clicked element: {} in step {}", "#addressInput", scenario.step++);
+    }
+
+    public static void main(String[] args) throws Exception {
+        String[] threadCounts = (args.length > 0 ? args[0] : "1,4,16").split(",");
+        for (String threads : threadCounts) {
+            new Runner(new OptionsBuilder()
+                    .include(LoggingThroughputBenchmark.class.getSimpleName())
+                    .threads(Integer.parseInt(threads.trim()))
+                    .build()).run();
+        }
+    }
+}
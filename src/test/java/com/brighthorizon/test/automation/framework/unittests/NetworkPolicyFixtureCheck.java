@@ -0,0 +1,51 @@
+package com.brighthorizon.test.automation.framework.unittests;
+
+import com.brighthorizon.test.automation.framework.core.LaunchProfile;
+import com.brighthorizon.test.automation.framework.utils.selenium.NetworkPolicy;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Loads the network-policy fixture page in headless Chrome without and with the configured block patterns
+ * and prints the load time and the traffic counted by NetworkPolicy for each run.
+ * Usage: NetworkPolicyFixtureCheck [iterations]
+ */
+public class NetworkPolicyFixtureCheck {
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        WebDriverManager.chromedriver().setup();
+
+        try (FixtureServer server = new FixtureServer(Paths.get("src/test/resources/fixtures/network-policy"))) {
+            String url = server.getBaseUrl() + "/";
+            run("no blocking", url, List.of(), iterations);
+            run("configured", url, NetworkPolicy.getBlockedPatterns(), iterations);
+        } finally {
+            LaunchProfile.cleanUp();
+        }
+    }
+
+    private static void run(String label, String url, List<String> patterns, int iterations) {
+        WebDriver driver = NetworkPolicy.apply(
+                new ChromeDriver(LaunchProfile.applyTo(new ChromeOptions(), LaunchProfile.PERFORMANCE)), patterns);
+        try {
+            long totalMillis = 0;
+            for (int i = 0; i < iterations; i++) {
+                driver.get("about:blank");
+                NetworkPolicy.takeScenarioReport(driver);
+                long start = System.nanoTime();
+                driver.get(url);
+                totalMillis += (System.nanoTime() - start) / 1_000_000;
+                System.out.printf("%-12s run %d: %s%n", label, i + 1, NetworkPolicy.takeScenarioReport(driver));
+            }
+            System.out.printf("%-12s average load: %d ms%n", label, totalMillis / iterations);
+        } finally {
+            NetworkPolicy.forget(driver);
+            driver.quit();
+        }
+    }
+}
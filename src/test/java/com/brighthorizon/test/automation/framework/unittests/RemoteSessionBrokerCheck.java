@@ -0,0 +1,111 @@
+package com.brighthorizon.test.automation.framework.unittests;
+
+import com.brighthorizon.test.automation.framework.core.DriverManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the cloud session path against a {@link FakeHub} and checks the session broker: extra requests queue
+ * instead of exceeding browserstack.maxSessions, capacity rejections are retried with growing backoff, and
+ * other session errors are not retried.
+ */
+public class RemoteSessionBrokerCheck {
+
+    private static final int MAX_SESSIONS = 2;
+    private static final int BACKOFF_MS = 50;
+
+    public static void main(String[] args) throws Exception {
+        try (FakeHub hub = new FakeHub(MAX_SESSIONS)) {
+            // Read when the configuration first loads, so set before DriverManager is touched
+            System.setProperty("execution-platform", "cloud");
+            System.setProperty("cloud-provider", "browserstack");
+            System.setProperty("browserstack.hubUrl", hub.getHubUrl());
+            System.setProperty("browserstack.maxSessions", String.valueOf(MAX_SESSIONS));
+            System.setProperty("browserstack.retryBackoffMs", String.valueOf(BACKOFF_MS));
+            System.setProperty("browserstack.sessionRetries", "3");
+            System.setProperty("driver-pool-enabled", "false");
+            System.setProperty("driver-prespawn-count", "0");
+
+            checkQueueing(hub);
+            checkCapacityRetry(hub);
+            checkOtherErrorsNotRetried(hub);
+            DriverManager.shutdown();
+        }
+        System.exit(0);
+    }
+
+    private static void checkQueueing(FakeHub hub) throws Exception {
+        int scenarios = MAX_SESSIONS * 3;
+        ExecutorService threads = Executors.newFixedThreadPool(scenarios);
+        long start = System.nanoTime();
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < scenarios; i++) {
+            results.add(threads.submit(() -> {
+                DriverManager.initializeDriver("chrome");
+                try {
+                    Thread.sleep(200);
+                } finally {
+                    DriverManager.quitDriver();
+                }
+                return null;
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get(60, TimeUnit.SECONDS);
+        }
+        threads.shutdown();
+        if (hub.getMaxOpenSessions() > MAX_SESSIONS || hub.getRejected() > 0) {
+            throw new AssertionError("Broker let " + hub.getMaxOpenSessions() + " sessions open at once ("
+                    + hub.getRejected() + " rejected), limit " + MAX_SESSIONS);
+        }
+        System.out.println("Queueing passed: " + scenarios + " sessions, at most " + hub.getMaxOpenSessions()
+                + " open at once" + elapsed(start));
+    }
+
+    private static void checkCapacityRetry(FakeHub hub) {
+        int before = hub.getSessionRequestTimes().size();
+        hub.rejectNext(FakeHub.CAPACITY_MESSAGE);
+        hub.rejectNext(FakeHub.CAPACITY_MESSAGE);
+        long start = System.nanoTime();
+        DriverManager.initializeDriver("chrome");
+        DriverManager.quitDriver();
+
+        List<Long> requests = hub.getSessionRequestTimes().subList(before, hub.getSessionRequestTimes().size());
+        if (requests.size() != 3) {
+            throw new AssertionError("Expected 3 session requests (2 rejected, 1 accepted) but the hub saw " + requests.size());
+        }
+        long firstGap = TimeUnit.NANOSECONDS.toMillis(requests.get(1) - requests.get(0));
+        long secondGap = TimeUnit.NANOSECONDS.toMillis(requests.get(2) - requests.get(1));
+        if (firstGap < BACKOFF_MS || secondGap < 2 * BACKOFF_MS) {
+            throw new AssertionError("Backoff too short: " + firstGap + " ms then " + secondGap + " ms, base " + BACKOFF_MS + " ms");
+        }
+        System.out.println("Capacity retry passed: backoff " + firstGap + " ms then " + secondGap + " ms" + elapsed(start));
+    }
+
+    private static void checkOtherErrorsNotRetried(FakeHub hub) {
+        int before = hub.getSessionRequestTimes().size();
+        hub.rejectNext("Could not start a new session. Message queue of the node was closed.");
+        long start = System.nanoTime();
+        try {
+            DriverManager.initializeDriver("chrome");
+            DriverManager.quitDriver();
+            throw new AssertionError("Session opened although the hub rejected it");
+        } catch (RuntimeException expected) {
+            // The broker must give up after the first request
+        }
+        int requests = hub.getSessionRequestTimes().size() - before;
+        if (requests != 1) {
+            throw new AssertionError("A non-capacity error was retried: " + requests + " session requests");
+        }
+        System.out.println("Non-capacity error passed: failed after 1 request" + elapsed(start));
+    }
+
+    private static String elapsed(long startNanos) {
+        return String.format(" (%d ms)", (System.nanoTime() - startNanos) / 1_000_000);
+    }
+}
@@ -0,0 +1,91 @@
+package com.brighthorizon.test.automation.framework.unittests;
+
+import com.brighthorizon.test.automation.framework.utils.testdata.TestDataLoader;
+import com.brighthorizon.test.automation.framework.utils.testdata.TestDataRows;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Times reading generated scenario files the way the data provider does: parsing the whole file twice with a new
+ * ObjectMapper per call, versus {@link TestDataLoader} (cached, indexed, streamed above the size threshold), and the
+ * time until the lazy data provider ({@link TestDataRows}) hands out its first row, alone and as the first test of a
+ * TestNG run with a sequential and a parallel provider ({@link FirstRowTiming}).
+ * Usage: TestDataLoaderBenchmark [rows per type, comma-separated]
+ */
+public class TestDataLoaderBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        String[] sizes = (args.length > 0 ? args[0] : "1000,10000,100000").split(",");
+        Path directory = Files.createTempDirectory("test-data-benchmark");
+
+        System.out.printf("%8s %10s %16s %14s %14s %14s %18s %16s %18s%n", "rows", "file KB", "two parses ms", "first ms", "cached ms", "positive[5] ms", "first lazy row ms", "TestNG first ms", "parallel first ms");
+        for (String size : sizes) {
+            int rows = Integer.parseInt(size.trim());
+            Path file = directory.resolve("centers_" + rows + ".json");
+            writeDataFile(file, rows);
+
+            long start = System.nanoTime();
+            ObjectMapper mapper = new ObjectMapper();
+            mapper.readValue(file.toFile(), new TypeReference<Map<String, List<Map<String, Object>>>>() {});
+            new ObjectMapper().readValue(file.toFile(), new TypeReference<Map<String, List<Map<String, Object>>>>() {}).get("positive");
+            long legacy = System.nanoTime() - start;
+
+            TestDataLoader.clearCache();
+            start = System.nanoTime();
+            TestDataLoader.getTestData(file, "all_positive");
+            long first = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            TestDataLoader.getTestData(file, "all_positive");
+            long cached = System.nanoTime() - start;
+
+            TestDataLoader.clearCache();
+            start = System.nanoTime();
+            TestDataLoader.getTestData(file, "positive[5]");
+            long firstFive = System.nanoTime() - start;
+
+            TestDataLoader.clearCache();
+            start = System.nanoTime();
+            Iterator<Object[]> lazyRows = TestDataRows.of(TestDataLoader.iterateTestData(file, "all_positive"));
+            lazyRows.next();
+            long firstLazyRow = System.nanoTime() - start;
+            lazyRows.forEachRemaining(row -> { });
+
+            TestDataLoader.clearCache();
+            double sequentialFirstTest = FirstRowTiming.time(file, FirstRowTiming.SequentialRows.class);
+            TestDataLoader.clearCache();
+            double parallelFirstTest = FirstRowTiming.time(file, FirstRowTiming.ParallelRows.class);
+
+            System.out.printf("%8d %10d %16.1f %14.1f %14.3f %14.1f %18.1f %16.1f %18.1f%n", rows, Files.size(file) / 1024,
+                    legacy / 1e6, first / 1e6, cached / 1e6, firstFive / 1e6, firstLazyRow / 1e6,
+                    sequentialFirstTest, parallelFirstTest);
+        }
+    }
+
+    private static void writeDataFile(Path file, int rows) throws Exception {
+        try (JsonGenerator generator = new ObjectMapper().getFactory().createGenerator(file.toFile(), JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            for (String type : new String[]{"positive", "negative"}) {
+                generator.writeArrayFieldStart(type);
+                for (int i = 0; i < rows; i++) {
+                    generator.writeStartObject();
+                    generator.writeStringField("location", "Location " + i);
+                    generator.writeStringField("zip", String.format("%05d", i % 100000));
+                    generator.writeNumberField("expectedCenters", i % 25);
+                    generator.writeBooleanField("expectResults", i % 7 != 0);
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+            }
+            generator.writeEndObject();
+        }
+    }
+}
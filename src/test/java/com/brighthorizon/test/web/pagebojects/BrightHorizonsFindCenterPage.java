@@ -1,16 +1,21 @@
 package com.brighthorizon.test.web.pagebojects;
 
+import com.brighthorizon.test.automation.framework.utils.selenium.CachingFieldDecorator;
+import com.brighthorizon.test.automation.framework.utils.selenium.ElementSnapshot;
 import com.brighthorizon.test.automation.framework.utils.selenium.ElementUtils;
+import com.brighthorizon.test.automation.framework.utils.selenium.PageReadiness;
+import com.brighthorizon.test.automation.framework.utils.selenium.SmartWait;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.*;
+import org.openqa.selenium.support.CacheLookup;
 import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
 
@@ -18,31 +23,51 @@ public class BrightHorizonsFindCenterPage {
 
     private WebDriver driver;
     private static final Logger logger = LogManager.getLogger(BrightHorizonsFindCenterPage.class);
+    // The locator is usable once the address input exists; with an early page-load strategy the map must also
+    // have stopped fetching its scripts, which the normal strategy already waited for
+    public static final PageReadiness READINESS = PageReadiness.selectorPresent("#addressInput")
+            .and(PageReadiness.networkIdle().onlyWithEarlyPageLoad());
+    private static final String RESULTS_NUMBER = "span.resultsNumber";
+    private static final String CENTER_CARD = "#center-results-container div.centerResult";
+    private static final Map<String, String> CENTER_CARD_FIELDS = Map.of(
+            "name", "h3[class*='centerResult__name']",
+            "address", "span[class*='centerResult__address']");
+    private static final String POPUP = "div[class*='gm-style-iw']";
+    private static final Map<String, String> POPUP_FIELDS = Map.of(
+            "name", "span[class*='mapTooltip__headline']",
+            "address", "div[class*='mapTooltip__address']");
 
     public BrightHorizonsFindCenterPage(WebDriver driver) {
         this.driver = driver;
-        PageFactory.initElements(driver, this);
+        PageFactory.initElements(new CachingFieldDecorator(driver), this);
     }
 
     // WebElements
-    @FindBy(xpath = "//nav[@class='nav-shared txt-nav-hierarchy nav-top js-nav-shared js-nav-top']//li[@class='nav-item displayed-desktop']//a[@class='btn-nav btn btn-large btn-hollow color-nileblue global_header_findcenter track_cta_click'][normalize-space()='Find a Center']")
+    // Class fragments instead of the full class lists, plus the link text so only "Find a Center" matches
+    @FindBy(xpath = "//nav[contains(@class, 'nav-top')]//li[contains(@class, 'displayed-desktop')]"
+            + "//a[contains(@class, 'global_header_findcenter')][normalize-space()='Find a Center']")
+    @CacheLookup
     private WebElement findCenterOption;
 
     @FindBy(id = "addressInput")
+    @CacheLookup
     private WebElement searchBox;
 
     @FindBy(id = "center-results-container")
+    @CacheLookup
     private WebElement centerResultsContainer;
 
-    @FindBy(css = "span.resultsNumber")
-    private WebElement resultsNumber;
-
-    @FindBy(css = "div.centerResult")
-    private List<WebElement> centerList;
-
     public void clickFindCenterOption() {
         logger.info("Clicking on 'Find a Center' option");
         ElementUtils.clickElement(findCenterOption, driver);
+        waitUntilReady();
+    }
+
+    /**
+     * Waits until the center locator is usable. With an early page-load strategy the click above returns before it is.
+     */
+    public void waitUntilReady() {
+        READINESS.await(driver);
     }
 
     public boolean isCorrectURLDisplayed() {
@@ -57,41 +82,57 @@ public class BrightHorizonsFindCenterPage {
         searchBox.clear();
         searchBox.sendKeys(location);
 
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
+        Duration timeout = Duration.ofSeconds(5);
         logger.info("Waiting for autocomplete suggestions to appear");
-        wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(By.cssSelector(".pac-item")));
-
-        List<WebElement> suggestions = driver.findElements(By.cssSelector(".pac-item"));
+        List<WebElement> suggestions = SmartWait.until(driver, timeout,
+                ExpectedConditions.presenceOfAllElementsLocatedBy(By.cssSelector(".pac-item")));
         if (!suggestions.isEmpty()) {
             logger.info("Selecting the first suggestion");
             suggestions.get(0).click();
         }
 
         logger.info("Waiting for location input update");
-        wait.until(ExpectedConditions.attributeContains(searchBox, "value", location));
+        SmartWait.until(driver, timeout, ExpectedConditions.attributeContains(searchBox, "value", location));
         searchBox.sendKeys(Keys.ENTER);
 
         logger.info("Verifying search results are displayed");
-        wait.until(ExpectedConditions.visibilityOfElementLocated(By.id("center-results-container")));
+        SmartWait.until(driver, timeout, ExpectedConditions.visibilityOfElementLocated(By.id("center-results-container")));
     }
 
     public int getDisplayedCenterCount() {
-        int count = centerList.size();
+        int count = readCenterCards().size();
         logger.info("Displayed centers count: {}", count);
         return count;
     }
 
     public int getExpectedCenterCount() {
-        int expectedCount = Integer.parseInt(ElementUtils.getText(resultsNumber, driver));
+        // The results header renders after the list container; wait until it shows a number
+        ElementSnapshot resultsNumber;
+        try {
+            resultsNumber = SmartWait.until(driver, Duration.ofSeconds(10), wd -> {
+                List<ElementSnapshot> resultsNumbers = ElementSnapshot.readAll(driver, RESULTS_NUMBER);
+                return resultsNumbers.isEmpty() || !resultsNumbers.get(0).isVisible()
+                        || resultsNumbers.get(0).getText() == null || !resultsNumbers.get(0).getText().matches("\\d+")
+                        ? null : resultsNumbers.get(0);
+            });
+        } catch (TimeoutException e) {
+            throw new AssertionError("The number of found centers is not displayed.", e);
+        }
+        int expectedCount = Integer.parseInt(resultsNumber.getText());
         logger.info("Expected centers count: {}", expectedCount);
         return expectedCount;
     }
 
-    public void clickFirstCenter() {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+    /**
+     * Reads name, address and visibility of every center card in one round trip.
+     */
+    public List<ElementSnapshot> readCenterCards() {
+        return ElementSnapshot.readAll(driver, CENTER_CARD, CENTER_CARD_FIELDS);
+    }
 
+    public void clickFirstCenter() {
         logger.info("Waiting for the first center in the list to be clickable");
-        List<WebElement> centers = wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(
+        List<WebElement> centers = SmartWait.until(driver, Duration.ofSeconds(10), ExpectedConditions.presenceOfAllElementsLocatedBy(
                 By.xpath("//div[@id='center-results-container']//div[contains(@class, 'centerResult')]")
         ));
 
@@ -105,10 +146,8 @@ public class BrightHorizonsFindCenterPage {
     }
 
     public void verifyNumberOfResults() {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-
         logger.info("Waiting for search results to be displayed");
-        boolean isResultsDisplayed = wait.until(ExpectedConditions.visibilityOfElementLocated(By.id("center-results-container"))).isDisplayed();
+        boolean isResultsDisplayed = SmartWait.until(driver, Duration.ofSeconds(10), ExpectedConditions.visibilityOfElementLocated(By.id("center-results-container"))).isDisplayed();
 
         if (!isResultsDisplayed) {
             logger.error("Search results did not load after entering location");
@@ -122,22 +161,23 @@ public class BrightHorizonsFindCenterPage {
     }
 
     public boolean isCenterNameAndAddressMatching() {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        Duration timeout = Duration.ofSeconds(10);
 
         logger.info("Fetching first center details from the results list");
-        WebElement firstCenter = wait.until(ExpectedConditions.presenceOfElementLocated(
-                By.xpath("//div[@id='center-results-container']//div[contains(@class, 'centerResult')][1]")));
-
-        String listCenterName = firstCenter.findElement(By.xpath(".//h3[contains(@class, 'centerResult__name')]")).getText().trim();
-        String listCenterAddress = firstCenter.findElement(By.xpath(".//span[contains(@class, 'centerResult__address')]")).getText().trim();
+        ElementSnapshot firstCenter = SmartWait.until(driver, timeout, wd -> {
+            List<ElementSnapshot> centers = readCenterCards();
+            return centers.isEmpty() || !hasNameAndAddress(centers.get(0)) ? null : centers.get(0);
+        });
+        String listCenterName = firstCenter.getChildText("name");
+        String listCenterAddress = firstCenter.getChildText("address");
 
         logger.info("Fetching details from the pop-up");
-        WebElement popup = wait.until(ExpectedConditions.presenceOfElementLocated(
-                By.xpath("//div[contains(@class, 'gm-style-iw')]"))); // Ensure the pop-up is visible
-
-        String popupName = popup.findElement(By.xpath(".//span[contains(@class, 'mapTooltip__headline')]")).getText().trim();
-        WebElement popupAddressElement = popup.findElement(By.xpath(".//div[contains(@class, 'mapTooltip__address')]"));
-        String popupAddress = popupAddressElement.getText().replaceAll("\n", " ").trim();
+        ElementSnapshot popup = SmartWait.until(driver, timeout, wd -> {
+            List<ElementSnapshot> popups = ElementSnapshot.readAll(driver, POPUP, POPUP_FIELDS);
+            return popups.isEmpty() || !hasNameAndAddress(popups.get(0)) ? null : popups.get(0);
+        });
+        String popupName = popup.getChildText("name");
+        String popupAddress = popup.getChildText("address").replaceAll("\n", " ").trim();
 
         logger.info("listCenterName: {}", listCenterName);
         logger.info("listCenterAddress: {}", listCenterAddress);
@@ -150,4 +190,9 @@ public class BrightHorizonsFindCenterPage {
         }
         return isMatch;
     }
+
+    // A missing child reads as null; wait for both instead of comparing a placeholder
+    private static boolean hasNameAndAddress(ElementSnapshot snapshot) {
+        return snapshot.getChildText("name") != null && snapshot.getChildText("address") != null;
+    }
 }
@@ -1,34 +1,49 @@
 package com.brighthorizon.test.web.pagebojects;
 
+import com.brighthorizon.test.automation.framework.utils.selenium.BrowserCheckpoint;
+import com.brighthorizon.test.automation.framework.utils.selenium.BrowserUtils;
+import com.brighthorizon.test.automation.framework.utils.selenium.CachingFieldDecorator;
 import com.brighthorizon.test.automation.framework.utils.selenium.ElementUtils;
+import com.brighthorizon.test.automation.framework.utils.selenium.PageReadiness;
+import com.brighthorizon.test.automation.framework.utils.selenium.SmartWait;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.CacheLookup;
 import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.PageFactory;
 
 import java.util.List;
 
-public class BrightHorizonsHomePage {
+public class BrightHorizonsHomePage implements SearchPageActions {
 
     private WebDriver driver;
     private static final Logger logger = LogManager.getLogger(BrightHorizonsHomePage.class);
+    private static final String SEARCH_ICON = ".nav-link-search.track_nav_interact[href='#subnav-search-desktop-top']";
+    private static final By ACCEPT_COOKIES_BUTTON = By.id("onetrust-accept-btn-handler");
+    private static final By NO_SEARCH_RESULTS = By.cssSelector("h3[class='title']");
+    private static final By EMPTY_SEARCH_RESULT = By.xpath("//h3[normalize-space()='Employee Education in 2018: Strategies to Watch']");
+    // The header is usable once parsed; the rest of the page keeps loading images and marketing scripts
+    public static final PageReadiness READINESS = PageReadiness.documentInteractive().and(PageReadiness.selectorPresent(SEARCH_ICON));
 
     public BrightHorizonsHomePage(WebDriver driver) {
         this.driver = driver;
-        PageFactory.initElements(driver, this);
+        PageFactory.initElements(new CachingFieldDecorator(driver), this);
     }
 
     // WebElements
-    @FindBy(css = ".nav-link-search.track_nav_interact[href='#subnav-search-desktop-top']")
+    @FindBy(css = SEARCH_ICON)
+    @CacheLookup
     private WebElement searchIcon;
 
     @FindBy(xpath = "//nav[@id='subnav-search-desktop-top']//input[@id='search-field']")
+    @CacheLookup
     private WebElement searchField;
 
     @FindBy(css = "nav[id='subnav-search-desktop-top'] button[type='submit']")
+    @CacheLookup
     private WebElement searchButton;
 
     @FindBy(css = ".txt-nav-search-title")
@@ -37,36 +52,51 @@ public class BrightHorizonsHomePage {
     @FindBy(xpath = "//h3[normalize-space()='Employee Education in 2018: Strategies to Watch']")
     private WebElement firstSearchResult;
 
-    @FindBy(id = "onetrust-accept-btn-handler")
-    private WebElement acceptCookiesButton;
+    // Actions
+    @Override
+    public void open(String url) {
+        if (BrowserCheckpoint.isConsentInjectionEnabled()) {
+            BrowserCheckpoint.injectCookieConsent(driver, url);
+            BrowserUtils.navigateTo(driver, url, READINESS);
+        } else {
+            BrowserUtils.navigateTo(driver, url, READINESS);
+            acceptCookies();
+        }
+    }
 
-    @FindBy(css = "h3[class='title']")
-    private WebElement noSearchResults;
+    @Override
+    public void waitUntilReady() {
+        READINESS.await(driver);
+    }
 
-    // Actions
+    @Override
     public void clickSearchIcon() {
         logger.info("Clicking on search icon");
         ElementUtils.clickElement(searchIcon, driver);
     }
 
+    @Override
     public boolean isSearchFieldVisible() {
         boolean visible = ElementUtils.isElementDisplayed(searchField, driver);
         logger.info("Search field visibility: {}", visible);
         return visible;
     }
 
+    @Override
     public void enterSearchText(String searchText) {
         logger.info("Entering search text: {}", searchText);
         ElementUtils.enterText(searchField, searchText, driver);
     }
 
+    @Override
     public void clickSearchButton() {
         logger.info("Clicking on search button");
         ElementUtils.clickElement(searchButton, driver);
     }
 
+    @Override
     public void verifyNoResultsMessage(String expectedMessage) {
-        String actualMessage = ElementUtils.getText(noSearchResults, driver);
+        String actualMessage = getOptionalText(NO_SEARCH_RESULTS);
         logger.info("Expected message: '{}', Actual message: '{}'", expectedMessage, actualMessage);
         if (!actualMessage.contains(expectedMessage)) {
             logger.error("Mismatch in 'No results' message.");
@@ -74,8 +104,9 @@ public class BrightHorizonsHomePage {
         }
     }
 
+    @Override
     public void verifySearchResultsDisplayed() {
-        List<WebElement> searchResults = driver.findElements(By.cssSelector("a.search-result h3.title"));
+        List<WebElement> searchResults = SmartWait.waitForElements(driver, By.cssSelector("a.search-result h3.title"));
         logger.info("Number of search results displayed: {}", searchResults.size());
         if (searchResults.isEmpty()) {
             logger.error("No search results were displayed.");
@@ -83,8 +114,9 @@ public class BrightHorizonsHomePage {
         }
     }
 
+    @Override
     public void verifyEmptySearchMessage(String expectedMessage) {
-        String actualMessage = ElementUtils.getText(firstSearchResult, driver);
+        String actualMessage = getOptionalText(EMPTY_SEARCH_RESULT);
         logger.info("Expected message: '{}', Actual message: '{}'", expectedMessage, actualMessage);
         if (!actualMessage.contains(expectedMessage)) {
             logger.error("Mismatch in 'Empty search' message.");
@@ -113,8 +145,9 @@ public class BrightHorizonsHomePage {
         }
     }
 
+    @Override
     public void verifyFirstSearchResultDynamically(String expectedText, int resultIndex) {
-        List<WebElement> searchResults = driver.findElements(By.cssSelector("a.search-result h3.title"));
+        List<WebElement> searchResults = SmartWait.waitForElements(driver, By.cssSelector("a.search-result h3.title"));
         logger.info("Total search results found: {}", searchResults.size());
         if (searchResults.isEmpty()) {
             logger.error("No search results found.");
@@ -128,17 +161,27 @@ public class BrightHorizonsHomePage {
         }
     }
 
+    @Override
     public void clearSearchField() {
         logger.info("Clearing search field");
         ElementUtils.enterText(searchField, "", driver);
     }
 
+    @Override
     public void acceptCookies() {
-        if (ElementUtils.isElementDisplayed(acceptCookiesButton, driver)) {
+        // The banner is absent for returning visitors, so do not wait the full visibility timeout for it
+        List<WebElement> acceptCookiesButtons = SmartWait.waitForOptionalElements(driver, ACCEPT_COOKIES_BUTTON);
+        if (!acceptCookiesButtons.isEmpty()) {
             logger.info("Accepting cookies");
-            ElementUtils.clickElement(acceptCookiesButton, driver);
+            ElementUtils.clickElement(acceptCookiesButtons.get(0), driver);
         } else {
             logger.info("Cookies banner not displayed.");
         }
     }
+
+    // A missing message should fail within the fast-negative timeout, not after the full visibility timeout
+    private String getOptionalText(By locator) {
+        List<WebElement> elements = SmartWait.waitForOptionalElements(driver, locator);
+        return elements.isEmpty() ? "" : ElementUtils.getText(elements.get(0), driver);
+    }
 }
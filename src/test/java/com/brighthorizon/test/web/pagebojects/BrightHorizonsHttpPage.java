@@ -0,0 +1,138 @@
+package com.brighthorizon.test.web.pagebojects;
+
+import com.brighthorizon.test.automation.framework.utils.http.HttpPageClient;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+
+import java.util.Map;
+
+/**
+ * HTTP-mode counterpart of {@link BrightHorizonsHomePage} and the URL check of {@link BrightHorizonsFindCenterPage}.
+ * Works on the server-rendered HTML, so only steps that do not depend on scripts are supported.
+ */
+public class BrightHorizonsHttpPage implements SearchPageActions {
+
+    private static final Logger logger = LogManager.getLogger(BrightHorizonsHttpPage.class);
+    private static final String SEARCH_FORM = "nav#subnav-search-desktop-top form";
+    private static final String SEARCH_FIELD = "#search-field";
+    private static final String SEARCH_RESULTS = "a.search-result h3.title";
+    private static final String NO_RESULTS = "h3[class=title]";
+    private static final String FIND_CENTER_OPTION = "a.global_header_findcenter";
+
+    private final HttpPageClient client;
+    private String searchText = "";
+
+    public BrightHorizonsHttpPage(HttpPageClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public void open(String url) {
+        logger.info("Fetching page: {}", url);
+        client.open(url);
+    }
+
+    public void clickFindCenterOption() {
+        Element link = client.getCurrentPage().selectFirst(FIND_CENTER_OPTION);
+        if (link == null) {
+            throw new AssertionError("'Find a Center' option not found on " + client.getCurrentUrl());
+        }
+        logger.info("Following 'Find a Center' link: {}", link.absUrl("href"));
+        client.open(link.absUrl("href"));
+    }
+
+    public boolean isCorrectURLDisplayed() {
+        String currentURL = client.getCurrentUrl();
+        logger.info("Current URL: {}", currentURL);
+        return currentURL.contains("/child-care-locator");
+    }
+
+    @Override
+    public void waitUntilReady() {
+        // Pages are fetched completely before they are parsed
+    }
+
+    @Override
+    public void acceptCookies() {
+        // The consent banner is injected by script and never blocks plain HTTP requests
+    }
+
+    @Override
+    public void clickSearchIcon() {
+        // The search form is part of the served markup; the icon only reveals it
+    }
+
+    @Override
+    public boolean isSearchFieldVisible() {
+        boolean present = client.getCurrentPage().selectFirst(SEARCH_FORM + " " + SEARCH_FIELD) != null;
+        logger.info("Search field present: {}", present);
+        return present;
+    }
+
+    @Override
+    public void enterSearchText(String searchText) {
+        logger.info("Entering search text: {}", searchText);
+        this.searchText = searchText;
+    }
+
+    @Override
+    public void clearSearchField() {
+        logger.info("Clearing search field");
+        this.searchText = "";
+    }
+
+    @Override
+    public void clickSearchButton() {
+        Document page = client.getCurrentPage();
+        Element form = page.selectFirst(SEARCH_FORM);
+        Element field = form == null ? null : form.selectFirst(SEARCH_FIELD);
+        if (field == null) {
+            throw new AssertionError("Search form not found on " + client.getCurrentUrl());
+        }
+        logger.info("Submitting search form with: '{}'", searchText);
+        client.submitForm(form, Map.of(field.attr("name"), searchText));
+    }
+
+    @Override
+    public void verifyFirstSearchResultDynamically(String expectedText, int resultIndex) {
+        Elements searchResults = client.getCurrentPage().select(SEARCH_RESULTS);
+        logger.info("Total search results found: {}", searchResults.size());
+        if (searchResults.size() <= resultIndex) {
+            throw new AssertionError("No search result at index " + resultIndex + " on the page.");
+        }
+        String actualText = searchResults.get(resultIndex).text().trim();
+        if (!actualText.equals(expectedText)) {
+            throw new AssertionError("Expected first search result: '" + expectedText + "', but found: '" + actualText + "'");
+        }
+    }
+
+    @Override
+    public void verifyNoResultsMessage(String expectedMessage) {
+        Element noResults = client.getCurrentPage().selectFirst(NO_RESULTS);
+        String actualMessage = noResults == null ? "" : noResults.text();
+        logger.info("Expected message: '{}', Actual message: '{}'", expectedMessage, actualMessage);
+        if (!actualMessage.contains(expectedMessage)) {
+            throw new AssertionError("Expected 'No results' message: '" + expectedMessage + "', but found: '" + actualMessage + "'");
+        }
+    }
+
+    @Override
+    public void verifyEmptySearchMessage(String expectedMessage) {
+        String actualMessage = client.getCurrentPage().body().text();
+        if (!actualMessage.contains(expectedMessage)) {
+            throw new AssertionError("Expected 'Empty search' message: '" + expectedMessage + "' on " + client.getCurrentUrl());
+        }
+    }
+
+    @Override
+    public void verifySearchResultsDisplayed() {
+        int count = client.getCurrentPage().select(SEARCH_RESULTS).size();
+        logger.info("Number of search results displayed: {}", count);
+        if (count == 0) {
+            throw new AssertionError("No search results were displayed, but results were expected.");
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.brighthorizon.test.web.pagebojects;
+
+/**
+ * Search actions shared by the browser page object and the HTTP page object, so the search steps run in either mode.
+ */
+public interface SearchPageActions {
+
+    /**
+     * Opens the page and leaves it ready for searching, with the cookie consent already dealt with.
+     */
+    void open(String url);
+
+    /**
+     * Waits until the page declares itself usable; returns at once when there is nothing left to load.
+     */
+    void waitUntilReady();
+
+    void acceptCookies();
+
+    void clickSearchIcon();
+
+    boolean isSearchFieldVisible();
+
+    void enterSearchText(String searchText);
+
+    void clearSearchField();
+
+    void clickSearchButton();
+
+    void verifyFirstSearchResultDynamically(String expectedText, int resultIndex);
+
+    void verifyNoResultsMessage(String expectedMessage);
+
+    void verifyEmptySearchMessage(String expectedMessage);
+
+    void verifySearchResultsDisplayed();
+}
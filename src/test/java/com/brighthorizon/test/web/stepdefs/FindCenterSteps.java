@@ -1,7 +1,12 @@
 package com.brighthorizon.test.web.stepdefs;
 
 import com.brighthorizon.test.automation.framework.core.DriverManager;
+import com.brighthorizon.test.automation.framework.core.HttpDriverManager;
+import com.brighthorizon.test.automation.framework.core.LaunchProfile;
+import com.brighthorizon.test.automation.framework.utils.selenium.BrowserCheckpoint;
 import com.brighthorizon.test.web.pagebojects.BrightHorizonsFindCenterPage;
+import com.brighthorizon.test.web.pagebojects.BrightHorizonsHomePage;
+import com.brighthorizon.test.web.pagebojects.BrightHorizonsHttpPage;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
@@ -19,40 +24,77 @@ public class FindCenterSteps {
 
     private WebDriver driver;
     private BrightHorizonsFindCenterPage findCenterPage;
+    private BrightHorizonsHttpPage httpPage;
 
     public FindCenterSteps() {
-        this.driver = DriverManager.getDriver();
-        this.findCenterPage = new BrightHorizonsFindCenterPage(driver);
+        if (HttpDriverManager.isActive()) {
+            this.httpPage = new BrightHorizonsHttpPage(HttpDriverManager.getClient());
+        } else {
+            this.driver = DriverManager.getDriver();
+            this.findCenterPage = new BrightHorizonsFindCenterPage(driver);
+        }
+    }
+
+    /**
+     * Opens the center locator from the home page and captures it as a checkpoint, or restores the checkpoint
+     * when an earlier scenario already captured it, skipping the home page, consent banner and header click.
+     */
+    @Given("I open the Find a Center page from {string} using checkpoint {string}")
+    public void iOpenTheFindACenterPageUsingCheckpoint(String homeUrl, String checkpoint) {
+        requireBrowser("Checkpoints");
+        if (BrowserCheckpoint.restore(driver, checkpoint)) {
+            findCenterPage.waitUntilReady();
+        } else {
+            new BrightHorizonsHomePage(driver).open(homeUrl);
+            findCenterPage.clickFindCenterOption();
+            BrowserCheckpoint.capture(driver, checkpoint);
+        }
+        LaunchProfile.maximizeWindow(driver);
     }
 
     @When("I click on Find a Center option in the top header")
     public void iClickOnFindACenterOption() {
+        if (httpPage != null) {
+            httpPage.clickFindCenterOption();
+            return;
+        }
         findCenterPage.clickFindCenterOption();
     }
 
     @Then("I should see that the newly opened page contains {string} in the URL")
     public void iShouldSeeThatTheNewPageContainsInURL(String expectedURL) {
-        assertTrue("The page URL does not contain expected text", findCenterPage.isCorrectURLDisplayed());
+        boolean correctURL = httpPage != null ? httpPage.isCorrectURLDisplayed() : findCenterPage.isCorrectURLDisplayed();
+        assertTrue("The page URL does not contain expected text", correctURL);
     }
 
     @When("I type {string} into the search box and press Enter")
     public void iTypeIntoTheSearchBoxAndPressEnter(String location) {
+        requireBrowser("The center search");
         findCenterPage.enterLocationAndVerify(location);
     }
 
     @Then("I verify if the number of found centers is the same as the number of centers displayed in the list")
     public void iVerifyNumberOfCentersMatchesDisplayedCount() {
+        requireBrowser("The center list");
         findCenterPage.verifyNumberOfResults();
     }
 
 
     @When("I click on the first center in the list")
     public void iClickOnTheFirstCenterInTheList() {
+        requireBrowser("The center list");
         findCenterPage.clickFirstCenter();
     }
 
     @Then("I verify that the center name and address match between the list and the popup")
     public void iVerifyThatCenterNameAndAddressMatch() {
+        requireBrowser("The center details popup");
         assertTrue("Center name and address do not match", findCenterPage.isCenterNameAndAddressMatching());
     }
+
+    private void requireBrowser(String feature) {
+        if (httpPage != null) {
+            throw new IllegalStateException(feature + " is rendered by scripts and needs a browser; remove the @http tag from this scenario.");
+        }
+    }
 }
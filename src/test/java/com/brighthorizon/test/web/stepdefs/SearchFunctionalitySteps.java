@@ -2,30 +2,39 @@ package com.brighthorizon.test.web.stepdefs;
 
 
 import com.brighthorizon.test.automation.framework.core.DriverManager;
+import com.brighthorizon.test.automation.framework.core.HttpDriverManager;
+import com.brighthorizon.test.automation.framework.core.LaunchProfile;
 import com.brighthorizon.test.web.pagebojects.BrightHorizonsHomePage;
+import com.brighthorizon.test.web.pagebojects.BrightHorizonsHttpPage;
+import com.brighthorizon.test.web.pagebojects.SearchPageActions;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
 import org.openqa.selenium.WebDriver;
 
-import static com.brighthorizon.test.automation.framework.utils.selenium.BrowserUtils.maximizeWindow;
-import static com.brighthorizon.test.automation.framework.utils.selenium.BrowserUtils.navigateTo;
 import static org.junit.Assert.assertTrue;
 
 public class SearchFunctionalitySteps {
     private WebDriver driver;
-    private BrightHorizonsHomePage brightHorizonsHomePage;
+    private BrightHorizonsHttpPage httpPage;
+    private SearchPageActions brightHorizonsHomePage;
 
     public SearchFunctionalitySteps() {
-        this.driver = DriverManager.getDriver(); // Assuming WebDriver is managed in Hooks
-        this.brightHorizonsHomePage = new BrightHorizonsHomePage(driver);
+        if (HttpDriverManager.isActive()) {
+            this.httpPage = new BrightHorizonsHttpPage(HttpDriverManager.getClient());
+            this.brightHorizonsHomePage = httpPage;
+        } else {
+            this.driver = DriverManager.getDriver(); // Assuming WebDriver is managed in Hooks
+            this.brightHorizonsHomePage = new BrightHorizonsHomePage(driver);
+        }
     }
 
     @Given("I navigate to the BH home page {string}")
     public void iNavigateToTheBHHomePage(String url) {
-        navigateTo(driver ,url);
-        brightHorizonsHomePage.acceptCookies();
-        maximizeWindow(driver);
+        brightHorizonsHomePage.open(url);
+        if (driver != null) {
+            LaunchProfile.maximizeWindow(driver);
+        }
     }
 
     @When("I click on the search/loop icon at the top right corner")
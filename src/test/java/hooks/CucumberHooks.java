@@ -2,17 +2,22 @@ package hooks;
 
 import com.brighthorizon.test.automation.framework.config.ConfigReader;
 import com.brighthorizon.test.automation.framework.core.DriverManager;
+import com.brighthorizon.test.automation.framework.core.HttpDriverManager;
 import com.brighthorizon.test.automation.framework.reporting.AllureReportGenerator;
 import com.brighthorizon.test.automation.framework.reporting.LogSetup;
 import com.brighthorizon.test.automation.framework.runner.TestRunner;
+import com.brighthorizon.test.automation.framework.utils.misc.LatencyBudget;
+import com.brighthorizon.test.automation.framework.utils.selenium.NetworkPolicy;
+import com.brighthorizon.test.automation.framework.utils.selenium.ScreenshotUtils;
 import io.cucumber.java.After;
+import io.cucumber.java.AfterStep;
 import io.cucumber.java.Before;
+import io.cucumber.java.BeforeStep;
 import io.cucumber.java.BeforeAll;
 import io.cucumber.java.Scenario;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
+import org.apache.logging.log4j.ThreadContext;
 import org.testng.annotations.AfterSuite;
 
 import java.io.IOException;
@@ -31,6 +36,16 @@ public class CucumberHooks {
     public void setUp(Scenario scenario) {
         try {
             logger.info("Starting setup for scenario: {}", scenario.getName());
+            LatencyBudget.startScenario(scenario.getName());
+            // Structured fields of every log line of this scenario (JSON output in log-mode=async)
+            ThreadContext.put("scenario", scenario.getName());
+            ThreadContext.put("thread", Thread.currentThread().getName());
+            if (scenario.getSourceTagNames().contains("@http")) {
+                ThreadContext.put("browser", "http");
+                // Steps of @http scenarios fetch and parse pages directly, no browser is started
+                HttpDriverManager.startSession();
+                return;
+            }
             String browser = ConfigReader.getBrowser();
             if (!ConfigReader.getGlobal("execution-platform").equalsIgnoreCase("cloud"))
             {
@@ -41,6 +56,7 @@ public class CucumberHooks {
             }
 
             // Initialize WebDriver
+            ThreadContext.put("browser", browser);
             DriverManager.initializeDriver(browser);
             logger.info("Initialized WebDriver for browser: {}", browser);
         } catch (Exception e) {
@@ -49,19 +65,59 @@ public class CucumberHooks {
         }
     }
 
+    @BeforeStep
+    public void beforeStep() {
+        LatencyBudget.startStep();
+    }
+
+    /**
+     * Warns about or fails a step whose sleeps and expired waits exceeded latency-budget-step-ms.
+     */
+    @AfterStep
+    public void afterStep() {
+        LatencyBudget.endStep();
+    }
+
     @After
     public void tearDown(Scenario scenario) {
+        String latencyReport = LatencyBudget.endScenario();
+        if (latencyReport != null) {
+            logger.info("{} Scenario: {}", latencyReport, scenario.getName());
+            scenario.log(latencyReport);
+        }
+        if (HttpDriverManager.isActive()) {
+            HttpDriverManager.closeSession();
+            logger.info("Closed HTTP session for scenario: {}", scenario.getName());
+            ThreadContext.clearMap();
+            return;
+        }
+        // A failed scenario whose session no longer answers lost its browser; InfrastructureRetryAnalyzer re-runs it
+        boolean sessionLost = scenario.isFailed() && DriverManager.getDriver() != null && !DriverManager.isSessionAlive();
         try {
-            if (scenario.isFailed()) {
+            if (scenario.isFailed() && !sessionLost) {
                 logger.warn("Scenario failed: {}. Capturing screenshot...", scenario.getName());
-                byte[] screenshot = ((TakesScreenshot) DriverManager.getDriver()).getScreenshotAs(OutputType.BYTES);
-                scenario.attach(screenshot, "image/png", "Screenshot for failed scenario");
+                // One capture serves both the attachment and the file written in the background
+                ScreenshotUtils.Screenshot screenshot = ScreenshotUtils.capture(DriverManager.getDriver(), "Failed_" + scenario.getName());
+                scenario.attach(screenshot.getBytes(), "image/png", "Screenshot for failed scenario");
+            }
+            if (!sessionLost && DriverManager.getDriver() != null) {
+                String networkReport = NetworkPolicy.takeScenarioReport(DriverManager.getDriver());
+                if (networkReport != null) {
+                    logger.info("{} Scenario: {}", networkReport, scenario.getName());
+                    scenario.log(networkReport);
+                }
             }
         } catch (Exception e) {
             logger.error("Teardown failed for scenario: {}. Error: {}", scenario.getName(), e.getMessage(), e);
         } finally {
-            DriverManager.quitDriver();
+            if (sessionLost) {
+                logger.warn("Browser session was lost during scenario: {}", scenario.getName());
+                DriverManager.discardLostSession();
+            } else {
+                DriverManager.quitDriver();
+            }
             logger.info("Closed WebDriver for scenario: {}", scenario.getName());
+            ThreadContext.clearMap();
         }
     }
 